@@ -0,0 +1,143 @@
+package academy.kovalevskyi.testing.benchmark;
+
+import academy.kovalevskyi.testing.processor.ContainerProcessor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles containers with trivial tests into a temporary directory. Containers are spread over
+ * weeks and days, so requests and comparators have something to do, and are registered by
+ * {@link ContainerProcessor} like containers of a real course.
+ */
+public final class SyntheticContainers implements Closeable {
+
+  public static final String PACKAGE = "academy.kovalevskyi.testing.benchmark.generated";
+  public static final String KEY = "BENCH";
+  private final Path directory;
+  private final URLClassLoader loader;
+  private final List<Class<?>> containers;
+
+  /**
+   * Compiles and loads containers.
+   *
+   * @param count number of containers
+   * @throws IOException if sources or classes can not be written
+   */
+  public SyntheticContainers(final int count) throws IOException {
+    directory = Files.createTempDirectory("synthetic-containers");
+    final var sources = directory.resolve("sources");
+    final var classes = Files.createDirectories(directory.resolve("classes"));
+    final var files = new ArrayList<Path>(count + 1);
+    files.add(write(sources, "Provider", provider()));
+    for (var i = 0; i < count; i++) {
+      files.add(write(sources, name(i), container(i)));
+    }
+    compile(files, classes);
+
+    loader = new URLClassLoader(
+        new URL[]{classes.toUri().toURL()},
+        SyntheticContainers.class.getClassLoader());
+    containers = new ArrayList<>(count);
+    try {
+      for (var i = 0; i < count; i++) {
+        containers.add(Class.forName(PACKAGE + "." + name(i), false, loader));
+      }
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+    Collections.shuffle(containers, new Random(count));
+  }
+
+  public ClassLoader getLoader() {
+    return loader;
+  }
+
+  /**
+   * Provides all containers in random order.
+   *
+   * @return unmodifiable list of containers
+   */
+  public List<Class<?>> getContainers() {
+    return Collections.unmodifiableList(containers);
+  }
+
+  @Override
+  public void close() throws IOException {
+    loader.close();
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+        try {
+          Files.delete(path);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+
+  private static String name(final int index) {
+    return String.format("Container%05d", index);
+  }
+
+  private static String provider() {
+    return "package " + PACKAGE + ";\n"
+        + "public class Provider implements academy.kovalevskyi.testing.annotation.CourseProvider {\n"
+        + "  public String name() { return \"Synthetic course\"; }\n"
+        + "  public String key() { return \"" + KEY + "\"; }\n"
+        + "}\n";
+  }
+
+  private static String container(final int index) {
+    return "package " + PACKAGE + ";\n"
+        + String.format(
+        "@academy.kovalevskyi.testing.annotation.Container("
+            + "course = Provider.class, week = %d, day = %d, id = %d)%n",
+        index / 100,
+        index / 10 % 10,
+        index % 10)
+        + "public class " + name(index) + " {\n"
+        + "  @org.junit.jupiter.api.Test\n"
+        + "  public void test() {\n"
+        + "  }\n"
+        + "}\n";
+  }
+
+  private static Path write(final Path sources, final String name, final String source)
+      throws IOException {
+    final var file = sources.resolve(PACKAGE.replace('.', '/')).resolve(name + ".java");
+    Files.createDirectories(file.getParent());
+    return Files.writeString(file, source);
+  }
+
+  private static void compile(final List<Path> files, final Path classes) throws IOException {
+    final var compiler = ToolProvider.getSystemJavaCompiler();
+    try (var manager = compiler.getStandardFileManager(null, null, null)) {
+      final var options = List.of(
+          "-d", classes.toString(),
+          "-cp", System.getProperty("java.class.path"),
+          "-processor", ContainerProcessor.class.getName());
+      final var task = compiler.getTask(
+          null,
+          manager,
+          null,
+          options,
+          null,
+          manager.getJavaFileObjectsFromPaths(files));
+      if (!task.call()) {
+        throw new IllegalStateException("Synthetic containers are not compiled");
+      }
+    }
+  }
+}
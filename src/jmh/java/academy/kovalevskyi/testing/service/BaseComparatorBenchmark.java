@@ -0,0 +1,50 @@
+package academy.kovalevskyi.testing.service;
+
+import academy.kovalevskyi.testing.benchmark.SyntheticContainers;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BaseComparatorBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int containers;
+  private SyntheticContainers synthetic;
+  private final BaseComparator comparator = new BaseComparator();
+
+  @Setup
+  public void setUp() throws IOException {
+    synthetic = new SyntheticContainers(containers);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    synthetic.close();
+  }
+
+  @Benchmark
+  public List<Class<?>> sort() {
+    final var result = new ArrayList<>(synthetic.getContainers());
+    result.sort(comparator);
+    return result;
+  }
+}
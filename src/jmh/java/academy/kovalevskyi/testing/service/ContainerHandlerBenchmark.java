@@ -0,0 +1,88 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time of one empty test with {@link ContainerHandler} against the same test with no extension.
+ * Output of the handler is dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContainerHandlerBenchmark {
+
+  private static final int TESTS = 1000;
+  private final PrintStream stdOut = System.out;
+  private Launcher launcher;
+  private LauncherDiscoveryRequest baseline;
+  private LauncherDiscoveryRequest handled;
+
+  @Setup
+  public void setUp() {
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    launcher = LauncherFactory.create();
+    baseline = LauncherDiscoveryRequestBuilder.request()
+        .selectors(selectClass(Baseline.class))
+        .build();
+    handled = LauncherDiscoveryRequestBuilder.request()
+        .selectors(selectClass(Handled.class))
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setOut(stdOut);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TESTS)
+  public void baseline() {
+    launcher.execute(baseline);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TESTS)
+  public void handler() {
+    launcher.execute(handled);
+  }
+
+  public static class Baseline {
+
+    @RepeatedTest(TESTS)
+    public void test() {
+    }
+  }
+
+  @ExtendWith(ContainerHandler.class)
+  public static class Handled {
+
+    @RepeatedTest(TESTS)
+    public void test() {
+    }
+  }
+}
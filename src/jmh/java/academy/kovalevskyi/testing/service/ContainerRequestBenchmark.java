@@ -0,0 +1,62 @@
+package academy.kovalevskyi.testing.service;
+
+import academy.kovalevskyi.testing.benchmark.SyntheticContainers;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContainerRequestBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int containers;
+  private SyntheticContainers synthetic;
+  private Predicate<Class<?>> course;
+  private Predicate<Class<?>> day;
+
+  @Setup
+  public void setUp() throws IOException {
+    synthetic = new SyntheticContainers(containers);
+    course = ContainerRequest.builder().course(SyntheticContainers.KEY).build().getPredicate();
+    day = ContainerRequest.builder()
+        .course(SyntheticContainers.KEY)
+        .week(0)
+        .day(1)
+        .build()
+        .getPredicate();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    synthetic.close();
+  }
+
+  @Benchmark
+  public List<Class<?>> filterByCourse() {
+    return synthetic.getContainers().stream().filter(course).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<Class<?>> filterByDay() {
+    return synthetic.getContainers().stream().filter(day).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,65 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Output of a test through {@link PrintStreamWrapper} while debug mode is on (enabled) and off
+ * (disabled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrintStreamWrapperBenchmark {
+
+  private static final String LINE = "Some text which is printed by a test";
+  @Param({"true", "false"})
+  public boolean enabled;
+  private final byte[] block = LINE.repeat(32).getBytes(StandardCharsets.UTF_8);
+  private PrintStreamWrapper wrapper;
+
+  @Setup
+  public void setUp() {
+    wrapper = new PrintStreamWrapper(new PrintStream(OutputStream.nullOutputStream()));
+    if (enabled) {
+      wrapper.enable();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    wrapper.destroy();
+  }
+
+  @Benchmark
+  public void println() {
+    wrapper.println(LINE);
+  }
+
+  @Benchmark
+  public void printf() {
+    wrapper.printf("%s %d%n", LINE, 42);
+  }
+
+  @Benchmark
+  public void write() {
+    wrapper.write(block, 0, block.length);
+  }
+}
@@ -0,0 +1,62 @@
+package academy.kovalevskyi.testing.util;
+
+import academy.kovalevskyi.testing.benchmark.SyntheticContainers;
+import academy.kovalevskyi.testing.service.FrameworkProperty;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Discovery of containers with the registry of
+ * {@link academy.kovalevskyi.testing.processor.ContainerProcessor} and with classpath scanning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContainerManagerBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int containers;
+  @Param({"true", "false"})
+  public boolean registry;
+  private SyntheticContainers synthetic;
+
+  @Setup
+  public void setUp() throws IOException {
+    synthetic = new SyntheticContainers(containers);
+    System.setProperty(FrameworkProperty.REGISTRY, String.valueOf(registry));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    System.clearProperty(FrameworkProperty.REGISTRY);
+    synthetic.close();
+  }
+
+  @Benchmark
+  public List<Class<?>> getContainers() {
+    final var thread = Thread.currentThread();
+    final var previous = thread.getContextClassLoader();
+    thread.setContextClassLoader(synthetic.getLoader());
+    try {
+      return ContainerManager.getContainers(SyntheticContainers.PACKAGE);
+    } finally {
+      thread.setContextClassLoader(previous);
+    }
+  }
+}
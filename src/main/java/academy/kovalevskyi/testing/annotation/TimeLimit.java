@@ -0,0 +1,34 @@
+package academy.kovalevskyi.testing.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits execution time of tests. The limit of a method overrides the limit of its container,
+ * tests without any limit use the limit of the launch. A test which is out of time is interrupted
+ * and the rest of tests continue. Constructors and lifecycle methods of a container, test factories
+ * and dynamic tests are limited too, each invocation separately.
+ */
+@Inherited
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeLimit {
+
+  /**
+   * Provides maximum execution time of each test, it should be positive.
+   *
+   * @return amount of time
+   */
+  long value();
+
+  /**
+   * Provides unit of the time.
+   *
+   * @return unit of time, seconds by default
+   */
+  TimeUnit unit() default TimeUnit.SECONDS;
+}
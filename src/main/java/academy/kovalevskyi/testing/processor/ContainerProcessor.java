@@ -0,0 +1,156 @@
+package academy.kovalevskyi.testing.processor;
+
+import academy.kovalevskyi.testing.annotation.Container;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.StandardLocation;
+
+/**
+ * Collects all classes which are annotated with {@link Container} annotation at compile time and
+ * writes them into {@value #REGISTRY} resource. The resource lets to find containers with no
+ * classpath scanning at all. Entries of the previous registry in the output directory are kept
+ * while their classes are still containers, so an incremental compile of a few classes does not
+ * drop the rest of them.
+ */
+public class ContainerProcessor extends AbstractProcessor {
+
+  /**
+   * Location of the registry resource. Each line of the resource describes one container as
+   * tab-separated binary class name, binary name of course provider class, week, day and id.
+   */
+  public static final String REGISTRY = "META-INF/academy.kovalevskyi.testing/containers";
+
+  private final Map<String, String> entries = new TreeMap<>();
+  private final List<Element> origins = new ArrayList<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Set.of(Container.class.getName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment environment) {
+    if (environment.processingOver()) {
+      writeRegistry();
+      return false;
+    }
+    final var elements = processingEnv.getElementUtils();
+    final var annotation = elements.getTypeElement(Container.class.getName());
+    if (annotation == null) {
+      return false;
+    }
+    for (var element : environment.getElementsAnnotatedWith(annotation)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        continue;
+      }
+      final var type = (TypeElement) element;
+      final var name = elements.getBinaryName(type).toString();
+      entries.put(name, prepareEntry(name, findMirror(type, annotation)));
+      origins.add(type);
+    }
+    return false;
+  }
+
+  private AnnotationMirror findMirror(final TypeElement type, final TypeElement annotation) {
+    return type.getAnnotationMirrors()
+        .stream()
+        .filter(mirror -> mirror.getAnnotationType().asElement().equals(annotation))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private String prepareEntry(final String name, final AnnotationMirror mirror) {
+    final var values = new TreeMap<String, AnnotationValue>();
+    processingEnv.getElementUtils()
+        .getElementValuesWithDefaults(mirror)
+        .forEach((method, value) -> values.put(method.getSimpleName().toString(), value));
+    final var course = (TypeElement) ((DeclaredType) values.get("course").getValue()).asElement();
+    return new StringJoiner("\t")
+        .add(name)
+        .add(processingEnv.getElementUtils().getBinaryName(course))
+        .add(values.get("week").getValue().toString())
+        .add(values.get("day").getValue().toString())
+        .add(values.get("id").getValue().toString())
+        .toString();
+  }
+
+  private void writeRegistry() {
+    if (entries.isEmpty()) {
+      return;
+    }
+    mergeRegistry();
+    try {
+      final var resource = processingEnv.getFiler().createResource(
+          StandardLocation.CLASS_OUTPUT,
+          "",
+          REGISTRY,
+          origins.toArray(Element[]::new));
+      final var stream = resource.openOutputStream();
+      try (var writer = new PrintWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+        entries.values().forEach(writer::println);
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(
+          Kind.WARNING,
+          String.format("Can not write %s: %s", REGISTRY, e.getMessage()));
+    }
+  }
+
+  private void mergeRegistry() {
+    final var elements = processingEnv.getElementUtils();
+    final var annotation = elements.getTypeElement(Container.class.getName());
+    try {
+      final var resource = processingEnv.getFiler().getResource(
+          StandardLocation.CLASS_OUTPUT,
+          "",
+          REGISTRY);
+      final var stream = resource.openInputStream();
+      try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          final var separator = line.indexOf('\t');
+          if (separator < 0) {
+            continue;
+          }
+          final var name = line.substring(0, separator);
+          final var type = elements.getTypeElement(name.replace('$', '.'));
+          if (entries.containsKey(name) || type == null || annotation == null) {
+            continue;
+          }
+          if (type.getAnnotationMirrors().stream()
+              .anyMatch(mirror -> mirror.getAnnotationType().asElement().equals(annotation))) {
+            entries.put(name, prepareEntry(name, findMirror(type, annotation)));
+            origins.add(type);
+          }
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // there is no previous registry
+    }
+  }
+}
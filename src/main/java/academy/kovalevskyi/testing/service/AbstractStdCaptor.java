@@ -1,49 +1,155 @@
 package academy.kovalevskyi.testing.service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.opentest4j.AssertionFailedError;
 
 /**
  * This class can be used for all tests that are going to intercept what will be displayed in the
- * method under test.
+ * method under test. Standard streams are replaced by {@link RoutingPrintStream} instances, each
+ * test binds its thread to its own buffers, so captor tests can be executed in parallel.
+ * {@link System#in} is replaced the same way, a test may feed it from a file, a resource or
+ * generated lines, and the default input is restored after the test.
+ *
+ * <p>Threads which are not bound to a running test, e.g. threads of the common pool which run a
+ * parallel stream of the test but were started before it or by a finished test, write to buffers
+ * of the only bound test, so their output is captured when tests are not concurrent. While
+ * several tests are bound, such output goes to shared buffers.
  */
 public abstract class AbstractStdCaptor {
 
-  private static final PrintStream DEFAULT_STDOUT = System.out;
-  private static final PrintStream DEFAULT_STDERR = System.err;
-  private static final ByteArrayOutputStream OUT_STREAM_BUFFER = new ByteArrayOutputStream();
-  private static final ByteArrayOutputStream ERR_STREAM_BUFFER = new ByteArrayOutputStream();
+  private static final CapturedOutput OUT_STREAM_BUFFER = new CapturedOutput();
+  private static final CapturedOutput ERR_STREAM_BUFFER = new CapturedOutput();
+  private static final OutputStream UNBOUND_OUT =
+      new UnboundOutput(OUT_STREAM_BUFFER, () -> AbstractStdCaptor.singleOut);
+  private static final OutputStream UNBOUND_ERR =
+      new UnboundOutput(ERR_STREAM_BUFFER, () -> AbstractStdCaptor.singleErr);
+  private static final List<AbstractStdCaptor> BOUND = new ArrayList<>();
+  private static volatile CapturedOutput singleOut;
+  private static volatile CapturedOutput singleErr;
+  private static int users;
+  private static PrintStream defaultStdOut;
+  private static PrintStream defaultStdErr;
+  private static InputStream defaultStdIn;
+  private static PrintStream sharedStdOut;
+  private static PrintStream sharedStdErr;
+  private static RoutingPrintStream stdOut;
+  private static RoutingPrintStream stdErr;
+  private static RoutingInputStream stdIn;
+  private CapturedOutput outStreamBuffer = OUT_STREAM_BUFFER;
+  private CapturedOutput errStreamBuffer = ERR_STREAM_BUFFER;
+  private InputStream stdInSource;
+  private TestOutput outTarget;
+  private TestOutput errTarget;
+  private boolean bound = false;
 
   /**
-   * Activates captor.
+   * Activates captor. Captor is activated once for all containers which are executed at the same
+   * time, output of threads which are not bound to a test goes to shared buffers.
    */
   @BeforeAll
-  static void setUpCustomOutput() {
-    System.setOut(new PrintStream(OUT_STREAM_BUFFER));
-    System.setErr(new PrintStream(ERR_STREAM_BUFFER));
+  static synchronized void setUpCustomOutput() {
+    if (users++ > 0) {
+      return;
+    }
+    defaultStdOut = System.out;
+    defaultStdErr = System.err;
+    sharedStdOut = new PrintStream(UNBOUND_OUT);
+    sharedStdErr = new PrintStream(UNBOUND_ERR);
+    stdOut = new RoutingPrintStream(sharedStdOut);
+    stdErr = new RoutingPrintStream(sharedStdErr);
+    defaultStdIn = System.in;
+    stdIn = new RoutingInputStream(defaultStdIn);
+    System.setOut(stdOut);
+    System.setErr(stdErr);
+    System.setIn(stdIn);
   }
 
   /**
-   * Deactivates captor.
+   * Deactivates captor after the last container which uses it.
    */
   @AfterAll
-  static void setUpDefaultOutput() {
-    System.out.close();
-    System.err.close();
-    System.setOut(DEFAULT_STDOUT);
-    System.setErr(DEFAULT_STDERR);
+  static synchronized void setUpDefaultOutput() {
+    if (users == 0 || --users > 0) {
+      return;
+    }
+    sharedStdOut.close();
+    sharedStdErr.close();
+    System.setOut(defaultStdOut);
+    System.setErr(defaultStdErr);
+    System.setIn(defaultStdIn);
+    defaultStdOut = null;
+    defaultStdErr = null;
+    defaultStdIn = null;
+    stdOut = null;
+    stdErr = null;
+    stdIn = null;
   }
 
   /**
-   * Resets all buffers.
+   * Binds the current thread and threads which will be started by it to buffers of the test.
+   */
+  @BeforeEach
+  final void bindBuffersData() {
+    synchronized (AbstractStdCaptor.class) {
+      if (stdOut == null) {
+        return;
+      }
+      outStreamBuffer = new CapturedOutput();
+      errStreamBuffer = new CapturedOutput();
+      outTarget = new TestOutput(outStreamBuffer, UNBOUND_OUT);
+      errTarget = new TestOutput(errStreamBuffer, UNBOUND_ERR);
+      stdOut.bind(new PrintStream(outTarget));
+      stdErr.bind(new PrintStream(errTarget));
+      bound = true;
+      BOUND.add(this);
+      updateSingle();
+    }
+  }
+
+  /**
+   * Resets all buffers and restores the default standard input stream.
    */
   @AfterEach
   final void resetBuffersData() {
-    OUT_STREAM_BUFFER.reset();
-    ERR_STREAM_BUFFER.reset();
+    outStreamBuffer.reset();
+    errStreamBuffer.reset();
+    if (stdInSource != null) {
+      restoreStdIn();
+    }
+    if (bound) {
+      synchronized (AbstractStdCaptor.class) {
+        if (stdOut != null) {
+          stdOut.unbind();
+          stdErr.unbind();
+        }
+        outTarget.finished = true;
+        errTarget.finished = true;
+        BOUND.remove(this);
+        updateSingle();
+      }
+      outTarget = null;
+      errTarget = null;
+      outStreamBuffer = OUT_STREAM_BUFFER;
+      errStreamBuffer = ERR_STREAM_BUFFER;
+      bound = false;
+    }
   }
 
   /**
@@ -52,7 +158,7 @@ public abstract class AbstractStdCaptor {
    * @return text from standard output stream
    */
   protected final String getStdOutContent() {
-    return OUT_STREAM_BUFFER.toString();
+    return getStdOut().toString();
   }
 
   /**
@@ -61,6 +167,305 @@ public abstract class AbstractStdCaptor {
    * @return text from standard error stream
    */
   protected final String getStdErrContent() {
-    return ERR_STREAM_BUFFER.toString();
+    return getStdErr().toString();
+  }
+
+  /**
+   * Provides all captured text printed into standard output stream without copying it. Only
+   * output which was printed after the previous call is decoded, the result is not changed by
+   * later output, so it can be matched by regular expressions or searched many times.
+   *
+   * @return view of text from standard output stream
+   */
+  protected final CharSequence getStdOut() {
+    return outStreamBuffer.content();
+  }
+
+  /**
+   * Provides all captured text printed into standard error stream without copying it, see
+   * {@link #getStdOut()}.
+   *
+   * @return view of text from standard error stream
+   */
+  protected final CharSequence getStdErr() {
+    return errStreamBuffer.content();
+  }
+
+  /**
+   * Provides a line printed into standard output stream without its line separator. The line is
+   * found by the index which is built while output is captured, only the line is decoded.
+   *
+   * @param index index of the line starting from 0
+   * @return text of the line
+   * @throws IndexOutOfBoundsException if there is no such line
+   */
+  protected final String getStdOutLine(final int index) {
+    return outStreamBuffer.line(index);
+  }
+
+  /**
+   * Provides a line printed into standard error stream without its line separator, see
+   * {@link #getStdOutLine(int)}.
+   *
+   * @param index index of the line starting from 0
+   * @return text of the line
+   * @throws IndexOutOfBoundsException if there is no such line
+   */
+  protected final String getStdErrLine(final int index) {
+    return errStreamBuffer.line(index);
+  }
+
+  /**
+   * Provides number of lines printed into standard output stream. The last line may have no line
+   * separator.
+   *
+   * @return number of lines
+   */
+  protected final int getStdOutLineCount() {
+    return outStreamBuffer.lineCount();
+  }
+
+  /**
+   * Provides number of lines printed into standard error stream. The last line may have no line
+   * separator.
+   *
+   * @return number of lines
+   */
+  protected final int getStdErrLineCount() {
+    return errStreamBuffer.lineCount();
+  }
+
+  /**
+   * Provides lines printed into standard output stream so far, each line is decoded when the
+   * stream reaches it.
+   *
+   * @return stream of lines
+   */
+  protected final Stream<String> getStdOutLines() {
+    return outStreamBuffer.lines();
+  }
+
+  /**
+   * Provides lines printed into standard error stream so far, each line is decoded when the
+   * stream reaches it.
+   *
+   * @return stream of lines
+   */
+  protected final Stream<String> getStdErrLines() {
+    return errStreamBuffer.lines();
+  }
+
+  /**
+   * Asserts that output printed into standard output stream is equal to the content of the file.
+   * The file is streamed and compared by hash, only on mismatch a short message with a few lines
+   * around the first different line is built.
+   *
+   * @param expected path of the file with expected output
+   * @throws AssertionFailedError if outputs are different
+   * @throws UncheckedIOException if the file can not be read
+   */
+  protected final void assertStdOutEquals(final Path expected) {
+    assertOutputEquals(() -> Files.newInputStream(expected), outStreamBuffer);
+  }
+
+  /**
+   * Asserts that output printed into standard output stream is equal to the content of the
+   * resource, see {@link #assertStdOutEquals(Path)}.
+   *
+   * @param expected name of the resource relative to the class of the test
+   * @throws AssertionFailedError if outputs are different
+   * @throws UncheckedIOException if the resource can not be read
+   */
+  protected final void assertStdOutEqualsResource(final String expected) {
+    assertOutputEquals(() -> openResource(expected), outStreamBuffer);
+  }
+
+  /**
+   * Asserts that output printed into standard error stream is equal to the content of the file,
+   * see {@link #assertStdOutEquals(Path)}.
+   *
+   * @param expected path of the file with expected output
+   * @throws AssertionFailedError if outputs are different
+   * @throws UncheckedIOException if the file can not be read
+   */
+  protected final void assertStdErrEquals(final Path expected) {
+    assertOutputEquals(() -> Files.newInputStream(expected), errStreamBuffer);
+  }
+
+  /**
+   * Asserts that output printed into standard error stream is equal to the content of the
+   * resource, see {@link #assertStdOutEquals(Path)}.
+   *
+   * @param expected name of the resource relative to the class of the test
+   * @throws AssertionFailedError if outputs are different
+   * @throws UncheckedIOException if the resource can not be read
+   */
+  protected final void assertStdErrEqualsResource(final String expected) {
+    assertOutputEquals(() -> openResource(expected), errStreamBuffer);
+  }
+
+  /**
+   * Feeds standard input stream of the test from the file. The file is mapped into memory, so
+   * large input is not copied to the heap.
+   *
+   * @param input path of the file with input
+   * @throws UncheckedIOException if the file can not be opened
+   * @throws IllegalStateException if captor is not activated
+   */
+  protected final void feedStdIn(final Path input) {
+    try {
+      feedStdIn(new MappedInputStream(input));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Feeds standard input stream of the test from lines. Each line is encoded and followed by the
+   * line separator only when the program reads it, so lines can be generated on demand.
+   *
+   * @param lines lines of input
+   * @throws IllegalStateException if captor is not activated
+   */
+  protected final void feedStdIn(final Stream<? extends CharSequence> lines) {
+    feedStdIn(new LinesInputStream(lines, Charset.defaultCharset()));
+  }
+
+  private void feedStdIn(final InputStream source) {
+    synchronized (AbstractStdCaptor.class) {
+      if (stdIn == null) {
+        close(source);
+        throw new IllegalStateException("Captor is not activated");
+      }
+      if (stdInSource != null) {
+        close(stdInSource);
+      }
+      stdInSource = source;
+      stdIn.bind(source);
+    }
+  }
+
+  /**
+   * Feeds standard input stream of the test from the resource.
+   *
+   * @param input name of the resource relative to the class of the test
+   * @throws UncheckedIOException if the resource can not be opened
+   * @throws IllegalStateException if captor is not activated
+   */
+  protected final void feedStdInResource(final String input) {
+    try {
+      feedStdIn(openResource(input));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void updateSingle() {
+    final var single = BOUND.size() == 1 ? BOUND.get(0) : null;
+    singleOut = single != null ? single.outStreamBuffer : null;
+    singleErr = single != null ? single.errStreamBuffer : null;
+  }
+
+  private void restoreStdIn() {
+    synchronized (AbstractStdCaptor.class) {
+      if (stdIn != null) {
+        stdIn.unbind();
+      }
+    }
+    close(stdInSource);
+    stdInSource = null;
+  }
+
+  private void close(final InputStream stream) {
+    try {
+      stream.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void assertOutputEquals(
+      final OutputComparator.Source expected,
+      final CapturedOutput actual) {
+    try {
+      final var difference = OutputComparator.compare(expected, actual);
+      if (difference.isPresent()) {
+        throw new AssertionFailedError(difference.get());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private InputStream openResource(final String name) throws IOException {
+    final var stream = getClass().getResourceAsStream(name);
+    if (stream == null) {
+      throw new FileNotFoundException(String.format("Resource %s is not found", name));
+    }
+    return stream;
+  }
+
+  /**
+   * Output of threads which are not bound to a running test. It goes to buffers of the only bound
+   * test or to the shared buffers.
+   */
+  private static final class UnboundOutput extends OutputStream {
+
+    private final CapturedOutput shared;
+    private final Supplier<CapturedOutput> single;
+
+    private UnboundOutput(final CapturedOutput shared, final Supplier<CapturedOutput> single) {
+      this.shared = shared;
+      this.single = single;
+    }
+
+    @Override
+    public void write(int b) {
+      target().write(b);
+    }
+
+    @Override
+    public void write(@Nonnull byte[] b, int off, int len) {
+      target().write(b, off, len);
+    }
+
+    private CapturedOutput target() {
+      final var buffer = single.get();
+      return buffer != null ? buffer : shared;
+    }
+  }
+
+  /**
+   * Output of threads which are bound to a test. Threads which inherited the binding outlive the
+   * test if they belong to a pool, after the test they are treated as unbound threads.
+   */
+  private static final class TestOutput extends OutputStream {
+
+    private final CapturedOutput buffer;
+    private final OutputStream unbound;
+    private volatile boolean finished = false;
+
+    private TestOutput(final CapturedOutput buffer, final OutputStream unbound) {
+      this.buffer = buffer;
+      this.unbound = unbound;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (finished) {
+        unbound.write(b);
+      } else {
+        buffer.write(b);
+      }
+    }
+
+    @Override
+    public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+      if (finished) {
+        unbound.write(b, off, len);
+      } else {
+        buffer.write(b, off, len);
+      }
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads results of tests which are written by {@link BinaryResultSink}. The file is mapped into
+ * memory, strings are decoded once per block, so results of many launches can be aggregated with
+ * no parsing of text.
+ */
+public final class BinaryResultReader implements Iterable<TestResult> {
+
+  private static final State[] STATES = State.values();
+  private final ByteBuffer content;
+
+  /**
+   * Maps the file into memory.
+   *
+   * @param file path of the file
+   * @throws IOException if the file can not be read or is larger than 2 GiB
+   */
+  public BinaryResultReader(final Path file) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(String.format("%s is larger than 2 GiB", file));
+      }
+      this.content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Provides results in order of writing.
+   *
+   * @return iterator of results
+   * @throws IllegalStateException while iterating if the file is malformed
+   */
+  @Override
+  public Iterator<TestResult> iterator() {
+    return new Cursor(content.duplicate());
+  }
+
+  private static class Cursor implements Iterator<TestResult> {
+
+    private final ByteBuffer content;
+    private final List<String> strings = new ArrayList<>();
+    private int blockEnd;
+
+    private Cursor(final ByteBuffer content) {
+      this.content = content;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return content.hasRemaining();
+    }
+
+    @Override
+    public TestResult next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        if (content.position() == blockEnd) {
+          startBlock();
+        }
+        final var result = new TestResult(
+            getString(),
+            getString(),
+            (int) getVarint(),
+            STATES[content.get()],
+            getVarint(),
+            getString());
+        if (content.position() > blockEnd) {
+          throw malformed();
+        }
+        return result;
+      } catch (RuntimeException e) {
+        throw e instanceof IllegalStateException ? e : malformed();
+      }
+    }
+
+    private void startBlock() {
+      if (content.get() != BinaryResultSink.MAGIC) {
+        throw malformed();
+      }
+      final var length = getVarint();
+      if (length <= 0 || length > content.remaining()) {
+        throw malformed();
+      }
+      blockEnd = content.position() + (int) length;
+      strings.clear();
+    }
+
+    private String getString() {
+      final var tag = getVarint();
+      if (tag == BinaryResultSink.NULL_STRING) {
+        return null;
+      }
+      if (tag == BinaryResultSink.NEW_STRING) {
+        final var bytes = new byte[(int) getVarint()];
+        content.get(bytes);
+        final var result = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(result);
+        return result;
+      }
+      return strings.get((int) (tag - BinaryResultSink.STRING_INDEX));
+    }
+
+    private long getVarint() {
+      var result = 0L;
+      for (var shift = 0; shift < Long.SIZE; shift += 7) {
+        final var next = content.get();
+        result |= (long) (next & 0x7F) << shift;
+        if ((next & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw malformed();
+    }
+
+    private IllegalStateException malformed() {
+      return new IllegalStateException(
+          String.format("Result file is malformed at byte %d", content.position()));
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes results of tests in a compact binary format which is read by
+ * {@link BinaryResultReader}. The file is a sequence of blocks:
+ * <pre>
+ * block  := MAGIC varint(length of records) record*
+ * record := string(container) string(method) varint(repetition) byte(state) varint(duration)
+ *           string(cause)
+ * string := varint(0) for null
+ *         | varint(1) varint(length) UTF-8 bytes for a string which is new in the block
+ *         | varint(2 + index) for the string with the index in the block
+ * </pre>
+ * The state is written as its ordinal, so new states should be added to the end of
+ * {@link State}. Every block has its own table of strings and is appended to the file by one
+ * write, so containers which are executed at the same time can share the file.
+ */
+public final class BinaryResultSink implements ResultSink {
+
+  /**
+   * Extension of files which are written by this sink.
+   */
+  public static final String EXTENSION = ".bin";
+  static final byte MAGIC = 0x5A;
+  static final int NULL_STRING = 0;
+  static final int NEW_STRING = 1;
+  static final int STRING_INDEX = 2;
+  private static final int BLOCK_SIZE = 1 << 16;
+  private final FileChannel channel;
+  private final Map<String, Integer> strings = new HashMap<>();
+  private final ByteBuffer header = ByteBuffer.allocate(1 + 5);
+  private ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+
+  /**
+   * Opens the file for appending, the file is created if it is absent.
+   *
+   * @param file path of the file
+   * @throws IOException if the file can not be opened
+   */
+  public BinaryResultSink(final Path file) throws IOException {
+    this.channel = FileChannel.open(
+        file,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  @Override
+  public synchronized void accept(final TestResult result) throws IOException {
+    final var mark = block.position();
+    try {
+      encode(result);
+    } catch (BufferOverflowException e) {
+      block.position(mark);
+      flush();
+      while (true) {
+        try {
+          encode(result);
+          break;
+        } catch (BufferOverflowException overflow) {
+          strings.clear();
+          block = ByteBuffer.allocate(block.capacity() * 2);
+        }
+      }
+    }
+  }
+
+  /**
+   * Appends the current block to the file and starts a new one.
+   *
+   * @throws IOException if the block can not be written
+   */
+  public synchronized void flush() throws IOException {
+    if (block.position() == 0) {
+      strings.clear();
+      return;
+    }
+    block.flip();
+    header.clear();
+    header.put(MAGIC);
+    putVarint(header, block.remaining());
+    header.flip();
+    final var buffers = new ByteBuffer[]{header, block};
+    while (block.hasRemaining()) {
+      channel.write(buffers);
+    }
+    if (block.capacity() > BLOCK_SIZE) {
+      block = ByteBuffer.allocate(BLOCK_SIZE);
+    }
+    block.clear();
+    strings.clear();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  private void encode(final TestResult result) {
+    putString(result.container());
+    putString(result.method());
+    putVarint(block, result.repetition());
+    block.put((byte) result.state().ordinal());
+    putVarint(block, result.duration());
+    putString(result.cause());
+  }
+
+  private void putString(final String value) {
+    if (value == null) {
+      putVarint(block, NULL_STRING);
+      return;
+    }
+    final var index = strings.get(value);
+    if (index != null) {
+      putVarint(block, STRING_INDEX + index);
+      return;
+    }
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    putVarint(block, NEW_STRING);
+    putVarint(block, bytes.length);
+    block.put(bytes);
+    strings.put(value, strings.size());
+  }
+
+  private static void putVarint(final ByteBuffer buffer, final long value) {
+    var rest = value;
+    while ((rest & ~0x7FL) != 0) {
+      buffer.put((byte) ((rest & 0x7F) | 0x80));
+      rest >>>= 7;
+    }
+    buffer.put((byte) rest);
+  }
+}
@@ -0,0 +1,277 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+
+/**
+ * Output stream which keeps captured bytes and decodes them into text on demand. Only bytes
+ * which were written after the previous read are decoded, decoded text is never copied to
+ * provide it, see {@link #content()}. An incomplete character at the end of bytes is decoded when
+ * the rest of it is written.
+ *
+ * <p>Positions of line feeds are indexed while bytes are written, so a line is found in constant
+ * time and only its own bytes are decoded, see {@link #line(int)}. The index expects a charset in
+ * which a line feed is always the single byte {@code 10}, e.g. UTF-8 or ISO-8859-1. A
+ * {@link RollingHash} of bytes is updated the same way, so output is compared with expected output
+ * without reading it again.
+ */
+final class CapturedOutput extends OutputStream {
+
+  private static final int INITIAL_CAPACITY = 256;
+  private static final byte LINE_FEED = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private final Charset charset;
+  private final CharsetDecoder decoder;
+  private byte[] bytes = new byte[0];
+  private int size;
+  private int[] lineFeeds = new int[0];
+  private int lineFeedCount;
+  private long hash;
+  private int decoded;
+  private char[] chars = new char[0];
+  private int length;
+
+  /**
+   * Creates an output which decodes bytes with the default charset like
+   * {@link java.io.ByteArrayOutputStream#toString()}.
+   */
+  CapturedOutput() {
+    this(Charset.defaultCharset());
+  }
+
+  /**
+   * Creates an output which decodes bytes with the charset, malformed bytes are replaced.
+   *
+   * @param charset charset of captured bytes
+   */
+  CapturedOutput(final Charset charset) {
+    this.charset = charset;
+    this.decoder = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  @Override
+  public synchronized void write(int b) {
+    ensureBytes(1);
+    bytes[size] = (byte) b;
+    index(size, 1);
+    hash = RollingHash.update(hash, bytes, size, 1);
+    size++;
+  }
+
+  @Override
+  public synchronized void write(@Nonnull byte[] b, int off, int len) {
+    Objects.checkFromIndexSize(off, len, b.length);
+    ensureBytes(len);
+    System.arraycopy(b, off, bytes, size, len);
+    index(size, len);
+    hash = RollingHash.update(hash, bytes, size, len);
+    size += len;
+  }
+
+  /**
+   * Provides text which is captured so far. The text is a view which is not changed by later
+   * output or by {@link #reset()}.
+   *
+   * @return captured text
+   */
+  synchronized CharSequence content() {
+    decode();
+    return new View(chars, 0, length);
+  }
+
+  /**
+   * Provides number of captured bytes.
+   *
+   * @return number of bytes
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Provides {@link RollingHash} of captured bytes.
+   *
+   * @return hash of bytes
+   */
+  synchronized long hash() {
+    return hash;
+  }
+
+  /**
+   * Provides charset of captured bytes.
+   *
+   * @return charset
+   */
+  Charset charset() {
+    return charset;
+  }
+
+  /**
+   * Provides number of captured lines. A line feed ends a line, the last line may have no line
+   * feed, so empty output has no lines.
+   *
+   * @return number of lines
+   */
+  synchronized int lineCount() {
+    return snapshot().count();
+  }
+
+  /**
+   * Provides a captured line without its line feed and carriage return. Only bytes of the line
+   * are decoded.
+   *
+   * @param index index of the line starting from 0
+   * @return text of the line
+   * @throws IndexOutOfBoundsException if there is no such line
+   */
+  synchronized String line(final int index) {
+    return snapshot().get(index);
+  }
+
+  /**
+   * Provides lines which are captured so far, each line is decoded when the stream reaches it.
+   * The stream is not changed by later output or by {@link #reset()}.
+   *
+   * @return stream of lines
+   */
+  synchronized Stream<String> lines() {
+    final var lines = snapshot();
+    return IntStream.range(0, lines.count()).mapToObj(lines::get);
+  }
+
+  /**
+   * Drops captured bytes and text. Views which were provided before stay unchanged.
+   */
+  synchronized void reset() {
+    bytes = new byte[0];
+    lineFeeds = new int[0];
+    lineFeedCount = 0;
+    hash = 0;
+    size = 0;
+    decoded = 0;
+    chars = new char[0];
+    length = 0;
+    decoder.reset();
+  }
+
+  private void decode() {
+    if (decoded == size) {
+      return;
+    }
+    final var input = ByteBuffer.wrap(bytes, decoded, size - decoded);
+    final var required = (int) Math.ceil(input.remaining() * (double) decoder.maxCharsPerByte());
+    ensureChars(required);
+    final var output = CharBuffer.wrap(chars, length, chars.length - length);
+    decoder.decode(input, output, false);
+    decoded = input.position();
+    length = output.position();
+  }
+
+  private Lines snapshot() {
+    return new Lines(charset, bytes, size, lineFeeds, lineFeedCount);
+  }
+
+  private void index(final int from, final int count) {
+    for (var position = from; position < from + count; position++) {
+      if (bytes[position] == LINE_FEED) {
+        if (lineFeedCount == lineFeeds.length) {
+          lineFeeds = Arrays.copyOf(lineFeeds, Math.max(lineFeeds.length * 2, INITIAL_CAPACITY));
+        }
+        lineFeeds[lineFeedCount++] = position;
+      }
+    }
+  }
+
+  private void ensureBytes(final int count) {
+    if (bytes.length - size < count) {
+      final var capacity = Math.max(Math.max(bytes.length * 2, INITIAL_CAPACITY), size + count);
+      bytes = Arrays.copyOf(bytes, capacity);
+    }
+  }
+
+  private void ensureChars(final int count) {
+    if (chars.length - length < count) {
+      final var capacity = Math.max(Math.max(chars.length * 2, INITIAL_CAPACITY), length + count);
+      chars = Arrays.copyOf(chars, capacity);
+    }
+  }
+
+  /**
+   * Captured bytes and positions of line feeds at some moment. Both arrays are only appended to
+   * or replaced, so the snapshot stays valid without locks.
+   */
+  private record Lines(
+      Charset charset,
+      byte[] bytes,
+      int size,
+      int[] lineFeeds,
+      int lineFeedCount) {
+
+    private int count() {
+      final var lastStart = lineFeedCount == 0 ? 0 : lineFeeds[lineFeedCount - 1] + 1;
+      return size > lastStart ? lineFeedCount + 1 : lineFeedCount;
+    }
+
+    private String get(final int index) {
+      Objects.checkIndex(index, count());
+      final var start = index == 0 ? 0 : lineFeeds[index - 1] + 1;
+      var end = index < lineFeedCount ? lineFeeds[index] : size;
+      if (end > start && bytes[end - 1] == CARRIAGE_RETURN) {
+        end--;
+      }
+      return new String(bytes, start, end - start, charset);
+    }
+  }
+
+  /**
+   * Read-only range of decoded characters. Characters of the range are never overwritten, a
+   * larger array is allocated for further text instead.
+   */
+  private static class View implements CharSequence {
+
+    private final char[] chars;
+    private final int start;
+    private final int end;
+
+    private View(final char[] chars, final int start, final int end) {
+      this.chars = chars;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      Objects.checkIndex(index, length());
+      return chars[start + index];
+    }
+
+    @Override
+    @Nonnull
+    public CharSequence subSequence(int start, int end) {
+      Objects.checkFromToIndex(start, end, length());
+      return new View(chars, this.start + start, this.start + end);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+      return new String(chars, start, end - start);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+
+/**
+ * Batches output of {@link ContainerHandler} and writes it to the console in large chunks. A
+ * transient line, which is overwritten by the next entry, is kept aside until something permanent
+ * is printed after it. The transient line is painted only on an interactive console when a test
+ * runs longer than {@link #PAINT_THRESHOLD}, so fast tests and redirected output never receive
+ * repaints and clearing sequences. Redirected output is flushed after each permanent entry, an
+ * interactive console at least once per {@link #PAINT_THRESHOLD}, so the report of finished tests
+ * is not lost when a test exits the JVM or the JVM is killed.
+ */
+final class ConsoleRenderer {
+
+  /**
+   * Time after which a running test is shown on the console.
+   */
+  static final Duration PAINT_THRESHOLD = Duration.ofMillis(100);
+  private static final int BUFFER_SIZE = 1 << 13;
+  private final PrintStream batch;
+  private final PrintStream stream;
+  private final boolean interactive;
+  private final long flushInterval;
+  private long flushed;
+  private String pending;
+  private int paintedLength;
+  private boolean live;
+
+  /**
+   * Prepares a renderer of the console.
+   *
+   * @param console     stream of the console
+   * @param interactive whether the console is a terminal which can overwrite the last line
+   */
+  ConsoleRenderer(final PrintStream console, final boolean interactive) {
+    this(console, interactive, PAINT_THRESHOLD);
+  }
+
+  ConsoleRenderer(
+      final PrintStream console,
+      final boolean interactive,
+      final Duration flushInterval) {
+    this.batch = new PrintStream(new BufferedOutputStream(console, BUFFER_SIZE), false);
+    this.stream = new PrintStream(new Output(), false);
+    this.interactive = interactive;
+    this.flushInterval = flushInterval.toNanos();
+    this.flushed = System.nanoTime();
+  }
+
+  /**
+   * Prepares a renderer of the stream which is bound to the current thread. Only a stream of the
+   * console of the JVM is interactive, streams which launchers bind to reports, e.g. buffers of
+   * parallel launches or connections of a daemon, are not.
+   *
+   * @param out {@link System#out} or a stream which replaced it
+   * @return renderer of the stream
+   */
+  static ConsoleRenderer of(final PrintStream out) {
+    final var bound = out instanceof RoutingPrintStream routingStream
+        && routingStream.bound() != null;
+    return new ConsoleRenderer(
+        RoutingPrintStream.resolve(out),
+        System.console() != null && !bound);
+  }
+
+  /**
+   * Provides a stream for output of tests. Everything which is written to it is permanent.
+   *
+   * @return stream which writes through this renderer
+   */
+  PrintStream stream() {
+    return stream;
+  }
+
+  /**
+   * Keeps a line which will be overwritten by the next entry.
+   *
+   * @param line text without line separator
+   */
+  synchronized void paint(final String line) {
+    clear();
+    pending = line;
+  }
+
+  /**
+   * Prints permanent text after the transient line. Output of tests which precedes the text is
+   * flushed together with it.
+   *
+   * @param text any text
+   */
+  synchronized void print(final String text) {
+    commit();
+    batch.print(text);
+    if (!interactive || live || System.nanoTime() - flushed >= flushInterval) {
+      flush();
+    }
+  }
+
+  synchronized void println(final String text) {
+    print(text + System.lineSeparator());
+  }
+
+  synchronized void printf(final String format, final Object... args) {
+    print(String.format(format, args));
+  }
+
+  /**
+   * Drops the transient line or erases it if it is already painted.
+   */
+  synchronized void clear() {
+    if (paintedLength > 0) {
+      batch.printf("\r%s\r", " ".repeat(paintedLength));
+      paintedLength = 0;
+    }
+    pending = null;
+    live = false;
+  }
+
+  /**
+   * Shows everything up to now, including the transient line if the console is interactive. Next
+   * output is written to the console immediately until the transient line is cleared.
+   */
+  synchronized void expose() {
+    if (interactive && pending != null && paintedLength == 0) {
+      batch.print(pending);
+      paintedLength = pending.length();
+    }
+    live = true;
+    flush();
+  }
+
+  synchronized void flush() {
+    batch.flush();
+    flushed = System.nanoTime();
+  }
+
+  private void commit() {
+    if (pending != null) {
+      if (paintedLength == 0) {
+        batch.print(pending);
+      }
+      pending = null;
+      paintedLength = 0;
+    }
+  }
+
+  private void flushIfLive() {
+    if (live) {
+      flush();
+    }
+  }
+
+  private class Output extends OutputStream {
+
+    @Override
+    public void write(int b) {
+      synchronized (ConsoleRenderer.this) {
+        commit();
+        batch.write(b);
+        flushIfLive();
+      }
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) {
+      synchronized (ConsoleRenderer.this) {
+        commit();
+        batch.write(bytes, off, len);
+        flushIfLive();
+      }
+    }
+
+    @Override
+    public void flush() {
+      ConsoleRenderer.this.flush();
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package academy.kovalevskyi.testing.service;
+
+import academy.kovalevskyi.testing.annotation.Container;
+import academy.kovalevskyi.testing.util.ContainerManager;
+import java.util.Objects;
+
+/**
+ * Course key, week, day and id of a class which is annotated with {@link Container} annotation.
+ * Descriptors are natural ordered by course/week/day/id and are computed only once per class
+ * until course providers are reset by {@link ContainerManager#resetProviders()}. A descriptor may
+ * be created from a name of class which is loaded on the first {@link #container()} call, so
+ * descriptors are filtered with no loading of classes which are not requested.
+ */
+public final class ContainerDescriptor implements Comparable<ContainerDescriptor> {
+
+  private static volatile ClassValue<ContainerDescriptor> descriptors = createCache();
+  private final String name;
+  private final ClassLoader loader;
+  private final String key;
+  private final int week;
+  private final int day;
+  private final int id;
+  private volatile Class<?> container;
+
+  /**
+   * Creates a descriptor of a loaded class.
+   *
+   * @param container test class
+   * @param key       course key
+   * @param week      week number
+   * @param day       day number
+   * @param id        container number
+   */
+  public ContainerDescriptor(
+      final Class<?> container,
+      final String key,
+      final int week,
+      final int day,
+      final int id) {
+    this(container.getName(), container.getClassLoader(), key, week, day, id);
+    this.container = container;
+  }
+
+  private ContainerDescriptor(
+      final String name,
+      final ClassLoader loader,
+      final String key,
+      final int week,
+      final int day,
+      final int id) {
+    this.name = Objects.requireNonNull(name);
+    this.loader = loader;
+    this.key = Objects.requireNonNull(key);
+    this.week = week;
+    this.day = day;
+    this.id = id;
+  }
+
+  /**
+   * Provides a descriptor of class which is annotated with {@link Container} annotation.
+   *
+   * @param clazz test class
+   * @return descriptor of the class
+   * @throws academy.kovalevskyi.testing.exception.NotAnnotatedContainerException if class is not
+   *     annotated with {@link Container}
+   */
+  public static ContainerDescriptor of(final Class<?> clazz) {
+    return descriptors.get(clazz);
+  }
+
+  /**
+   * Provides a descriptor of class which is not loaded yet, e.g. of a class from a registry of
+   * containers.
+   *
+   * @param name   binary name of test class
+   * @param loader class loader of test class
+   * @param key    course key
+   * @param week   week number
+   * @param day    day number
+   * @param id     container number
+   * @return descriptor of the class
+   */
+  public static ContainerDescriptor of(
+      final String name,
+      final ClassLoader loader,
+      final String key,
+      final int week,
+      final int day,
+      final int id) {
+    return new ContainerDescriptor(name, loader, key, week, day, id);
+  }
+
+  /**
+   * Forgets all computed descriptors, so course keys are read again from new instances of
+   * course providers. Is called by {@link ContainerManager#resetProviders()}.
+   */
+  public static void reset() {
+    descriptors = createCache();
+  }
+
+  /**
+   * Provides test class, the class is loaded by the first call.
+   *
+   * @return test class
+   * @throws NoClassDefFoundError if the class is absent
+   */
+  public Class<?> container() {
+    var result = container;
+    if (result == null) {
+      try {
+        result = Class.forName(name, false, loader);
+      } catch (ClassNotFoundException e) {
+        final var error = new NoClassDefFoundError(name);
+        error.initCause(e);
+        throw error;
+      }
+      container = result;
+    }
+    return result;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public int week() {
+    return week;
+  }
+
+  public int day() {
+    return day;
+  }
+
+  public int id() {
+    return id;
+  }
+
+  @Override
+  public int compareTo(ContainerDescriptor other) {
+    final var result = key.compareTo(other.key);
+    if (result != 0) {
+      return result;
+    }
+    if (week != other.week) {
+      return Integer.compare(week, other.week);
+    }
+    if (day != other.day) {
+      return Integer.compare(day, other.day);
+    }
+    return Integer.compare(id, other.id);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof ContainerDescriptor descriptor)) {
+      return false;
+    }
+    return name.equals(descriptor.name)
+        && key.equals(descriptor.key)
+        && week == descriptor.week
+        && day == descriptor.day
+        && id == descriptor.id;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, key, week, day, id);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ContainerDescriptor[container=%s, key=%s, week=%d, day=%d, id=%d]",
+        name,
+        key,
+        week,
+        day,
+        id);
+  }
+
+  private static ClassValue<ContainerDescriptor> createCache() {
+    return new ClassValue<>() {
+
+      @Override
+      protected ContainerDescriptor computeValue(Class<?> type) {
+        final var annotation = ContainerManager.getAnnotation(type);
+        return new ContainerDescriptor(
+            type,
+            ContainerManager.initProvider(annotation).key(),
+            annotation.week(),
+            annotation.day(),
+            annotation.id());
+      }
+    };
+  }
+}
@@ -1,14 +1,28 @@
 package academy.kovalevskyi.testing.service;
 
-import academy.kovalevskyi.testing.util.AnsiConsoleInstaller;
+import academy.kovalevskyi.testing.annotation.TimeLimit;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import org.fusesource.jansi.Ansi;
 import org.junit.jupiter.api.extension.AfterAllCallback;
@@ -16,53 +30,53 @@ import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.DynamicTestInvocationContext;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
 import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.UniqueId;
 import org.opentest4j.TestAbortedException;
 
 /**
  * This handler makes beautiful console output for JUnit tests.
  */
 public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAllCallback,
-    BeforeEachCallback, AfterEachCallback, ExecutionCondition {
-
-  private final long timeoutSec = 15;
-  private final boolean errorMode;
-  private final boolean debugMode;
-  private final boolean verboseMode;
-  private final Timer timer = new Timer(true);
-  private final PrintStream stdOut = System.out;
-  private final PrintStream stdErr = System.err;
-  private final PrintStreamWrapper wrapper = new PrintStreamWrapper(System.out);
-  private int successful = 0;
-  private int failed = 0;
-  private int aborted = 0;
-  private int disabled = 0;
-  private int repeatedTestInvocations = 0;
-  private int repeatedTestInvocationsWithNoSuchMethodAndPrints = 0;
-  private int successfulRepeatedTestInvocations = 0;
-  private int failedRepeatedTestInvocations = 0;
-  private int abortedRepeatedTestInvocations = 0;
-  private int lastPrintedLineLength = 0;
-  private long totalTime = 0;
-  private long testTime = 0;
-  private long repeatedTestTime = 0;
-  private long beginning = 0;
-  private String testName;
-  private String repeatedTestSummary;
-  private TimerTask timerTask;
-  private boolean repeatedTest = false;
-  private boolean noClassDef = false;
-  private boolean noSuchMethod = false;
-  private boolean printedDuringMethod = false;
-  private boolean printedDuringErrorMode = false;
+    BeforeEachCallback, AfterEachCallback, ExecutionCondition, InvocationInterceptor {
+
+  /**
+   * Key of report entry with time of a test or of all tests of a container in nanoseconds.
+   */
+  public static final String TIME_ENTRY = "time.ns";
+  /**
+   * Key of report entry with time which this handler spends on a test or on a container in
+   * nanoseconds. The time is not included in time of tests.
+   */
+  public static final String OVERHEAD_ENTRY = "overhead.ns";
+  /**
+   * Key of report entry of a container with number of threads of tests which are out of time and
+   * are still running in the current launch. The entry is published only if there are such threads.
+   */
+  public static final String ABANDONED_ENTRY = "abandoned.threads";
+  private static final String METHOD_SEGMENT = "method";
+  private static final String TEST_FACTORY_SEGMENT = "test-factory";
+  private static final String TEST_TEMPLATE_SEGMENT = "test-template";
+  private static final String TEST_TEMPLATE_INVOCATION_SEGMENT = "test-template-invocation";
+  private static final String DISABLED_SUFFIX = ") is @Disabled";
+  private static final int MESSAGE_MAX_LENGTH = 600;
+  private static final int ABANDONED_THREADS_LIMIT = 32;
+  private static final int SUBMITTED = 0;
+  private static final int RUNNING = 1;
+  private static final int FINISHED = 2;
+  private static final int ABANDONED = 3;
+  private static final Namespace NAMESPACE = Namespace.create(ContainerHandler.class);
+  private final ConsoleRenderer renderer = ConsoleRenderer.of(System.out);
 
   {
     System.setProperty("com.google.common.truth.disable_stack_trace_cleaning", "true");
-    errorMode = Boolean.parseBoolean(System.getProperty(FrameworkProperty.ERROR_MODE));
-    debugMode = Boolean.parseBoolean(System.getProperty(FrameworkProperty.DEBUG_MODE));
-    verboseMode = Boolean.parseBoolean(System.getProperty(FrameworkProperty.VERBOSE_MODE));
   }
 
   /**
@@ -104,11 +118,19 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void beforeAll(ExtensionContext context) {
-    AnsiConsoleInstaller.INSTANCE.systemInstall();
-    System.setOut(wrapper);
-    System.setErr(wrapper);
-    stdOut.printf("Result of %s:%n%n", context.getDisplayName());
-
+    final var start = System.nanoTime();
+    final var launch = context
+        .getRoot()
+        .getStore(NAMESPACE)
+        .getOrComputeIfAbsent(LaunchState.class, key -> new LaunchState(), LaunchState.class);
+    final var container = new ContainerState(
+        RunConfiguration.from(context),
+        renderer.stream(),
+        launch.abandonedThreads);
+    context.getStore(NAMESPACE).put(ContainerState.class, container);
+    StandardStreams.install(container.output);
+    renderer.printf("Result of %s:%n%n", context.getDisplayName());
+    container.totalOverhead.add(System.nanoTime() - start);
   }
 
   /**
@@ -121,25 +143,25 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
-    final var entryUniqueId = context.getUniqueId();
-    if (entryUniqueId.matches("^.+\\[method:.+\\)]$")) {
-      testName = prepareTestName(context);
-      printSummary();
-      repeatedTest = false;
-      noSuchMethod = false;
-    } else if (entryUniqueId.matches("^.+\\[test-template:.+\\)]$")) {
-      testName = prepareTestName(context);
-      printSummary();
-      repeatedTest = true;
-      repeatedTestTime = 0;
-      repeatedTestInvocations = 0;
-      successfulRepeatedTestInvocations = 0;
-      failedRepeatedTestInvocations = 0;
-      abortedRepeatedTestInvocations = 0;
-      repeatedTestInvocationsWithNoSuchMethodAndPrints = 0;
-    } else if (entryUniqueId.matches("^.+\\[test-template-invocation:#\\d+]$")) {
-      repeatedTestInvocations++;
-      noSuchMethod = false;
+    final var start = System.nanoTime();
+    final var segmentType = UniqueId.parse(context.getUniqueId()).getLastSegment().getType();
+    final var store = context.getStore(NAMESPACE);
+    if (METHOD_SEGMENT.equals(segmentType) || TEST_FACTORY_SEGMENT.equals(segmentType)) {
+      final var test = new TestState(prepareTestName(context), null, 0);
+      store.put(TestState.class, test);
+      countOverhead(getContainer(context), test, start);
+    } else if (TEST_TEMPLATE_SEGMENT.equals(segmentType)) {
+      final var container = getContainer(context);
+      store.put(TemplateState.class, new TemplateState(container, prepareTestName(context)));
+      container.totalOverhead.add(System.nanoTime() - start);
+    } else if (TEST_TEMPLATE_INVOCATION_SEGMENT.equals(segmentType)) {
+      final var template = store.get(TemplateState.class, TemplateState.class);
+      final var test = new TestState(
+          template.name,
+          template,
+          template.invocations.incrementAndGet());
+      store.put(TestState.class, test);
+      countOverhead(getContainer(context), test, start);
     }
     return ConditionEvaluationResult.enabled("For printing result of test to console");
   }
@@ -151,13 +173,18 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void beforeEach(ExtensionContext context) {
-    timerTask = createNewTask();
-    timer.schedule(timerTask, timeoutSec * 1_000);
-    printEntry(State.RUNNING);
-    if (debugMode) {
-      wrapper.enable();
+    final var start = System.nanoTime();
+    final var container = getContainer(context);
+    final var test = getTest(context);
+    printEntry(container, test, State.RUNNING);
+    if (container.debugMode) {
+      test.output = new PrintStreamWrapper(renderer.stream(), container.captureLimit);
+      test.output.enable();
+      StandardStreams.attach(test.output);
     }
-    beginning = System.nanoTime();
+    test.dispatchTime = 0;
+    test.beginning = System.nanoTime();
+    countOverhead(container, test, start);
   }
 
   /**
@@ -167,19 +194,182 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void afterEach(ExtensionContext context) {
-    testTime = System.nanoTime() - beginning;
-    totalTime += testTime;
-    if (repeatedTest) {
-      repeatedTestTime += testTime;
-    }
-    if (debugMode) {
-      printedDuringMethod = wrapper.hasContent();
-      if (errorMode && printedDuringMethod) {
-        printedDuringErrorMode = true;
+    final var start = System.nanoTime();
+    final var container = getContainer(context);
+    final var test = getTest(context);
+    test.time = start - test.beginning - test.dispatchTime;
+    container.totalTime.add(test.time);
+    if (test.template != null) {
+      test.template.time.add(test.time);
+    }
+    if (test.output != null) {
+      test.printed = test.output.hasContent();
+      if (container.errorMode && test.printed) {
+        container.printedDuringErrorMode = true;
       }
-      wrapper.disable();
+      StandardStreams.detach(test.output);
+      test.output.disable();
+      test.output.destroy();
     }
-    timerTask.cancel();
+    countOverhead(container, test, start);
+  }
+
+  /**
+   * Invokes a constructor of test container on a separate thread with output of the container and
+   * waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @param <T>               the result type of the invocation
+   * @return the result of the invocation
+   * @throws Throwable if the constructor fails or is out of time
+   */
+  @Override
+  public <T> T interceptTestClassConstructor(
+      Invocation<T> invocation,
+      ReflectiveInvocationContext<Constructor<T>> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    return proceedWithTimeLimit(
+        invocation,
+        extensionContext,
+        getContainerOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a method annotated with {@link org.junit.jupiter.api.BeforeAll} on a separate thread
+   * with output of the container and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the method fails or is out of time
+   */
+  @Override
+  public void interceptBeforeAllMethod(
+      Invocation<Void> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getContainerOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a method annotated with {@link org.junit.jupiter.api.BeforeEach} on a separate thread
+   * with output of the test and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the method fails or is out of time
+   */
+  @Override
+  public void interceptBeforeEachMethod(
+      Invocation<Void> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getTestOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a test method on a separate thread and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the test fails or is out of time
+   */
+  @Override
+  public void interceptTestMethod(
+      Invocation<Void> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getTestOutput(extensionContext));
+  }
+
+  /**
+   * Invokes an invocation of test template on a separate thread and waits for it no longer than
+   * the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the test fails or is out of time
+   */
+  @Override
+  public void interceptTestTemplateMethod(
+      Invocation<Void> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getTestOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a method annotated with {@link org.junit.jupiter.api.TestFactory} on a separate thread
+   * and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @param <T>               the result type of the invocation
+   * @return the result of the invocation
+   * @throws Throwable if the method fails or is out of time
+   */
+  @Override
+  public <T> T interceptTestFactoryMethod(
+      Invocation<T> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    return proceedWithTimeLimit(invocation, extensionContext, getTestOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a dynamic test on a separate thread and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the test fails or is out of time
+   */
+  @Override
+  public void interceptDynamicTest(
+      Invocation<Void> invocation,
+      DynamicTestInvocationContext invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getTestOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a method annotated with {@link org.junit.jupiter.api.AfterEach} on a separate thread
+   * with output of the test and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the method fails or is out of time
+   */
+  @Override
+  public void interceptAfterEachMethod(
+      Invocation<Void> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getTestOutput(extensionContext));
+  }
+
+  /**
+   * Invokes a method annotated with {@link org.junit.jupiter.api.AfterAll} on a separate thread
+   * with output of the container and waits for it no longer than the time limit.
+   *
+   * @param invocation        the invocation that is being intercepted
+   * @param invocationContext the context of the invocation that is being intercepted
+   * @param extensionContext  the current extension context
+   * @throws Throwable if the method fails or is out of time
+   */
+  @Override
+  public void interceptAfterAllMethod(
+      Invocation<Void> invocation,
+      ReflectiveInvocationContext<Method> invocationContext,
+      ExtensionContext extensionContext) throws Throwable {
+    proceedWithTimeLimit(invocation, extensionContext, getContainerOutput(extensionContext));
   }
 
   /**
@@ -189,11 +379,15 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void testSuccessful(ExtensionContext context) {
-    successful++;
-    if (repeatedTest) {
-      successfulRepeatedTestInvocations++;
+    final var start = System.nanoTime();
+    final var container = getContainer(context);
+    final var test = getTest(context);
+    container.successful.increment();
+    if (test.template != null) {
+      test.template.successful.incrementAndGet();
     }
-    printEntry(State.SUCCESSFUL);
+    printEntry(container, test, State.SUCCESSFUL);
+    finishTest(context, container, test, start, State.SUCCESSFUL, null);
   }
 
   /**
@@ -204,11 +398,15 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void testAborted(ExtensionContext context, Throwable cause) {
-    aborted++;
-    if (repeatedTest) {
-      abortedRepeatedTestInvocations++;
+    final var start = System.nanoTime();
+    final var container = getContainer(context);
+    final var test = getFinishedTest(context);
+    container.aborted.increment();
+    if (test.template != null) {
+      test.template.aborted.incrementAndGet();
     }
-    printEntry(State.ABORTED, cause);
+    printEntry(container, test, State.ABORTED, cause);
+    finishTest(context, container, test, start, State.ABORTED, cause.toString());
   }
 
   /**
@@ -219,9 +417,12 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void testDisabled(ExtensionContext context, Optional<String> reason) {
-    disabled++;
-    testName = prepareTestName(context);
-    printEntry(State.DISABLED, new Exception(reason.orElse(null)));
+    final var start = System.nanoTime();
+    final var container = getContainer(context);
+    final var test = new TestState(prepareTestName(context), null, 0);
+    container.disabled.increment();
+    printEntry(container, test, State.DISABLED, new Exception(reason.orElse(null)));
+    finishTest(context, container, test, start, State.DISABLED, reason.orElse(null));
   }
 
   /**
@@ -232,22 +433,32 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void testFailed(ExtensionContext context, Throwable cause) {
-    failed++;
-    if (repeatedTest) {
-      failedRepeatedTestInvocations++;
+    final var start = System.nanoTime();
+    final var container = getContainer(context);
+    final var test = getFinishedTest(context);
+    container.failed.increment();
+    if (test.template != null) {
+      test.template.failed.incrementAndGet();
     }
+    final State state;
     if (getExceptionFromThrowableChain(cause, NoClassDefFoundError.class).isPresent()) {
-      printEntry(State.NO_CLASS, cause);
-      noClassDef = true;
+      state = State.NO_CLASS;
+      printEntry(container, test, state, cause);
+      container.noClassDef = true;
+    } else if (cause instanceof TimeLimitException) {
+      state = State.INTERRUPTED;
+      printEntry(container, test, state, cause);
     } else if (getExceptionFromThrowableChain(cause, NoSuchMethodError.class).isPresent()) {
-      printEntry(State.NO_METHOD, cause);
-      noSuchMethod = true;
-      if (repeatedTest && printedDuringMethod) {
-        repeatedTestInvocationsWithNoSuchMethodAndPrints++;
+      state = State.NO_METHOD;
+      printEntry(container, test, state, cause);
+      if (test.template != null && test.printed) {
+        test.template.noSuchMethodWithPrints.incrementAndGet();
       }
     } else {
-      printEntry(State.FAILED, cause);
+      state = State.FAILED;
+      printEntry(container, test, state, cause);
     }
+    finishTest(context, container, test, start, state, cause.toString());
   }
 
   /**
@@ -257,90 +468,201 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
    */
   @Override
   public void afterAll(ExtensionContext context) {
-    printSummary();
-    clearLastLine();
-    final var errors = failed + aborted + disabled;
-    if (errorMode && errors == 0 && !printedDuringErrorMode) {
-      stdOut.println("You have no errors! Good job!");
-    }
-    stdOut.println(underline(prepareFooter()));
-    AnsiConsoleInstaller.INSTANCE.systemUninstall();
-    wrapper.destroy();
-    timer.cancel();
-    System.setOut(stdOut);
-    System.setErr(stdErr);
-  }
-
-  private void printEntry(final State state) {
-    if (!noClassDef) {
+    final var start = System.nanoTime();
+    final var container = context
+        .getStore(NAMESPACE)
+        .remove(ContainerState.class, ContainerState.class);
+    if (container == null) {
+      return;
+    }
+    synchronized (renderer) {
+      clearLastLine();
+      final var errors = container.failed.sum()
+          + container.aborted.sum()
+          + container.disabled.sum();
+      if (container.errorMode && errors == 0 && !container.printedDuringErrorMode) {
+        renderer.println("You have no errors! Good job!");
+      }
+      container.totalOverhead.add(System.nanoTime() - start);
+      renderer.println(underline(prepareFooter(container)));
+      renderer.flush();
+    }
+    StandardStreams.uninstall(container.output);
+    container.output.destroy();
+    container.executor.shutdownNow();
+    if (container.sink != null) {
+      try {
+        container.sink.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    final var entries = new HashMap<String, String>();
+    entries.put(TIME_ENTRY, String.valueOf(container.totalTime.sum()));
+    entries.put(OVERHEAD_ENTRY, String.valueOf(container.totalOverhead.sum()));
+    final var abandoned = container.abandonedThreads.get();
+    if (abandoned > 0) {
+      entries.put(ABANDONED_ENTRY, String.valueOf(abandoned));
+    }
+    context.publishReportEntry(entries);
+  }
+
+  private ContainerState getContainer(final ExtensionContext context) {
+    return context.getStore(NAMESPACE).get(ContainerState.class, ContainerState.class);
+  }
+
+  private TestState getTest(final ExtensionContext context) {
+    return context.getStore(NAMESPACE).get(TestState.class, TestState.class);
+  }
+
+  /**
+   * Provides the state of a finished test. Conditions are evaluated after an instance of the
+   * container is created, so a test whose constructor fails has no state yet.
+   */
+  private TestState getFinishedTest(final ExtensionContext context) {
+    if (getTest(context) == null) {
+      evaluateExecutionCondition(context);
+    }
+    return getTest(context);
+  }
+
+  private PrintStream getContainerOutput(final ExtensionContext context) {
+    final var container = getContainer(context);
+    return container != null ? container.output : null;
+  }
+
+  private PrintStream getTestOutput(final ExtensionContext context) {
+    final var test = getTest(context);
+    if (test != null && test.output != null) {
+      return test.output;
+    }
+    return getContainerOutput(context);
+  }
+
+  private void countOverhead(
+      final ContainerState container,
+      final TestState test,
+      final long start) {
+    addOverhead(container, test, System.nanoTime() - start);
+  }
+
+  private void addOverhead(
+      final ContainerState container,
+      final TestState test,
+      final long overhead) {
+    test.overhead += overhead;
+    container.totalOverhead.add(overhead);
+  }
+
+  private void finishTest(
+      final ExtensionContext context,
+      final ContainerState container,
+      final TestState test,
+      final long start,
+      final State state,
+      final String cause) {
+    final var run = state != State.DISABLED;
+    if (container.sink != null) {
+      final var result = new TestResult(
+          context.getRequiredTestClass().getName(),
+          context.getTestMethod().map(Method::getName).orElse(context.getDisplayName()),
+          prepareRepetition(context),
+          state,
+          run ? test.time : 0,
+          cause != null ? truncate(cause) : null);
+      try {
+        container.sink.accept(result);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    countOverhead(container, test, start);
+    final var entries = new HashMap<String, String>();
+    if (run) {
+      entries.put(TIME_ENTRY, String.valueOf(test.time));
+    }
+    entries.put(OVERHEAD_ENTRY, String.valueOf(test.overhead));
+    context.publishReportEntry(entries);
+  }
+
+  private void printEntry(
+      final ContainerState container,
+      final TestState test,
+      final State state) {
+    if (!container.noClassDef) {
+      final var template = test.template;
       final var result = new StringBuilder();
-      result.append(String.format("%s", testName));
-      if (repeatedTest) {
-        repeatedTestSummary = prepareSummary(state);
-        result.append(String.format(" test %d", repeatedTestInvocations));
+      result.append(String.format("%s", test.name));
+      if (template != null) {
+        if (state != State.RUNNING) {
+          template.state = state;
+          template.reason = null;
+        }
+        result.append(String.format(" test %d", test.repetition));
       }
-      if (debugMode && state != State.RUNNING) {
-        result.append(prepareTime(testTime));
+      if (container.debugMode && state != State.RUNNING) {
+        result.append(prepareTime(test.time));
       }
       result.append(prepareStatus(state));
       if (state != State.RUNNING
           && (
           state != State.SUCCESSFUL
-              || (errorMode && printedDuringMethod)
-              || (!errorMode && !repeatedTest)
-              || (debugMode && repeatedTest && printedDuringMethod))
-          && (!(state == State.NO_METHOD && repeatedTest) || printedDuringMethod)) {
+              || (container.errorMode && test.printed)
+              || (!container.errorMode && template == null)
+              || (container.debugMode && template != null && test.printed))
+          && (!(state == State.NO_METHOD && template != null) || test.printed)) {
         result.append(System.lineSeparator());
       }
-      if (result.length() > lastPrintedLineLength) {
-        lastPrintedLineLength = result.length();
+      synchronized (renderer) {
+        if (result.toString().endsWith(System.lineSeparator())) {
+          clearLastLine();
+          renderer.print(result.toString());
+        } else {
+          renderer.paint(result.toString());
+        }
       }
-      clearLastLine();
-      stdOut.print(result);
     }
   }
 
-  private void printEntry(final State state, final Throwable cause) {
-    if (!noClassDef) {
-      if (state == State.NO_CLASS) {
-        clearLastLine();
-      } else {
-        printEntry(state);
-      }
-      if (repeatedTest && state == State.NO_METHOD) {
-        repeatedTestSummary += String.format("%n%s", prepareReason(state, cause));
-        if (printedDuringMethod) {
-          stdOut.println(prepareReason(state, cause));
+  private void printEntry(
+      final ContainerState container,
+      final TestState test,
+      final State state,
+      final Throwable cause) {
+    if (!container.noClassDef) {
+      synchronized (renderer) {
+        if (state == State.NO_CLASS) {
+          clearLastLine();
+        } else {
+          printEntry(container, test, state);
+        }
+        if (test.template != null && state == State.NO_METHOD) {
+          test.template.reason = prepareReason(container, state, cause);
+          if (test.printed) {
+            renderer.println(prepareReason(container, state, cause));
+          }
+        } else {
+          renderer.println(prepareReason(container, state, cause));
         }
-      } else {
-        stdOut.println(prepareReason(state, cause));
       }
     }
   }
 
-  private void printSummary() {
-    if (!noClassDef && repeatedTest
-        && (
-        (successfulRepeatedTestInvocations > 0 && !errorMode)
-            || (
-            noSuchMethod
-                && repeatedTestInvocationsWithNoSuchMethodAndPrints != repeatedTestInvocations))) {
-      clearLastLine();
-      stdOut.println(repeatedTestSummary);
-    }
-  }
-
   private void clearLastLine() {
-    stdOut.printf("\r%s\r", " ".repeat(lastPrintedLineLength));
+    renderer.clear();
   }
 
   private String prepareTestName(final ExtensionContext context) {
     final var name = context.getDisplayName();
-    final var match = name.matches("^.+\\(.*$");
+    final var match = name.indexOf('(', 1) > 0;
     return String.format("%s()", match ? name.substring(0, name.indexOf('(')) : name);
   }
 
-  private String prepareFooter() {
+  private String prepareFooter(final ContainerState container) {
+    final var successful = container.successful.sum();
+    final var failed = container.failed.sum();
+    final var aborted = container.aborted.sum();
+    final var disabled = container.disabled.sum();
     final var result = new StringJoiner(" | ");
     result.add(String.format("%nTOTAL %d", successful + failed + aborted + disabled));
     if (successful > 0) {
@@ -355,43 +677,47 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
     if (disabled > 0) {
       result.add(String.format("DISABLED %d", disabled));
     }
-    if (errorMode) {
+    if (container.errorMode) {
       result.add("ERROR MODE ON");
     }
-    if (debugMode) {
+    if (container.debugMode) {
       result.add("DEBUG MODE ON");
     }
-    if (verboseMode) {
+    if (container.verboseMode) {
       result.add("VERBOSE MODE ON");
     }
-    return result.add(String.format("TIME %s", prepareDuration(totalTime))).toString();
+    result.add(String.format("TIME %s", prepareDuration(container.totalTime.sum())));
+    if (container.debugMode) {
+      result.add(String.format("OVERHEAD %s", prepareDuration(container.totalOverhead.sum())));
+    }
+    return result.toString();
   }
 
-  private String prepareSummary(final State state) {
-    final var result = new StringBuilder().append(testName);
-    if (repeatedTestInvocations == successfulRepeatedTestInvocations
-        || repeatedTestInvocations == abortedRepeatedTestInvocations
-        || repeatedTestInvocations == failedRepeatedTestInvocations) {
-      if (repeatedTestInvocations > 1) {
-        result.append(String.format(" %d tests", repeatedTestInvocations));
+  private String prepareSummary(final ContainerState container, final TemplateState template) {
+    final var invocations = template.invocations.get();
+    final var successful = template.successful.get();
+    final var result = new StringBuilder().append(template.name);
+    if (invocations == successful
+        || invocations == template.aborted.get()
+        || invocations == template.failed.get()) {
+      if (invocations > 1) {
+        result.append(String.format(" %d tests", invocations));
       }
-      if (debugMode) {
-        result.append(prepareTime(repeatedTestTime));
+      if (container.debugMode) {
+        result.append(prepareTime(template.time.sum()));
       }
-      result.append(prepareStatus(state));
+      result.append(prepareStatus(template.state));
     } else {
-      var suffix = successfulRepeatedTestInvocations > 1 ? "s" : "";
-      result.append(
-          String.format(
-              " %d test%s of %d",
-              successfulRepeatedTestInvocations,
-              suffix,
-              repeatedTestInvocations));
-      if (debugMode) {
-        result.append(prepareTime(repeatedTestTime));
+      var suffix = successful > 1 ? "s" : "";
+      result.append(String.format(" %d test%s of %d", successful, suffix, invocations));
+      if (container.debugMode) {
+        result.append(prepareTime(template.time.sum()));
       }
       result.append(prepareStatus(State.SUCCESSFUL));
     }
+    if (template.reason != null) {
+      result.append(String.format("%n%s", template.reason));
+    }
     return result.toString();
   }
 
@@ -424,23 +750,24 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
     return String.format("%s%n%s", text, "-".repeat(text.trim().length()));
   }
 
-  private String prepareDisabledMessage(final Throwable cause) {
+  private String prepareDisabledMessage(final ContainerState container, final Throwable cause) {
     var message = cause.getMessage();
-    if (message != null && message.matches("^.+\\) is @Disabled$")) {
+    if (message != null
+        && message.length() > DISABLED_SUFFIX.length()
+        && message.endsWith(DISABLED_SUFFIX)) {
       return "The disabled reason is not provided";
     }
-    return prepareCauseMessage(cause);
+    return prepareCauseMessage(container, cause);
   }
 
-  private String prepareCauseMessage(final Throwable cause) {
+  private String prepareCauseMessage(final ContainerState container, final Throwable cause) {
     var message = cause.getMessage();
     if (message != null && !message.isBlank()) {
       message = message.trim();
-      final var messageMaxLength = 600;
-      if (!verboseMode && message.length() > messageMaxLength) {
+      if (!container.verboseMode && message.length() > MESSAGE_MAX_LENGTH) {
         return String.format(
             "%s...%n%s",
-            message.substring(0, messageMaxLength),
+            truncate(message),
             "The message is too long, see instruction on how to enable verbose output");
       } else {
         return message;
@@ -450,7 +777,28 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
     }
   }
 
-  private String prepareReason(final State state, final Throwable cause) {
+  private String truncate(final String message) {
+    if (message.length() <= MESSAGE_MAX_LENGTH) {
+      return message;
+    }
+    final var end = Character.isHighSurrogate(message.charAt(MESSAGE_MAX_LENGTH - 1))
+        ? MESSAGE_MAX_LENGTH - 1
+        : MESSAGE_MAX_LENGTH;
+    return message.substring(0, end);
+  }
+
+  private int prepareRepetition(final ExtensionContext context) {
+    final var segment = UniqueId.parse(context.getUniqueId()).getLastSegment();
+    if (TEST_TEMPLATE_INVOCATION_SEGMENT.equals(segment.getType())) {
+      return Integer.parseInt(segment.getValue().substring(1));
+    }
+    return 0;
+  }
+
+  private String prepareReason(
+      final ContainerState container,
+      final State state,
+      final Throwable cause) {
     final var result = Ansi.ansi().fg(state.color);
     if (state == State.NO_CLASS) {
       result.a(getReason((NoClassDefFoundError) cause));
@@ -460,31 +808,308 @@ public class ContainerHandler implements TestWatcher, BeforeAllCallback, AfterAl
       result.format("- method is absent%n");
       result.a("- signature of method is different");
     } else if (state == State.INTERRUPTED) {
-      result.format("Time (%d sec) is out! Something went wrong...%n", timeoutSec);
+      result.format("Time (%s) is out! Something went wrong...%n", cause.getMessage());
     } else if (state == State.DISABLED) {
-      result.a(prepareDisabledMessage(cause));
+      result.a(prepareDisabledMessage(container, cause));
     } else if (cause instanceof AssertionError || cause instanceof TestAbortedException) {
-      result.a(prepareCauseMessage(cause));
+      result.a(prepareCauseMessage(container, cause));
     } else {
       result.format(
           "Thrown unexpected %s: %s%n",
           cause.getClass().getName(),
-          prepareCauseMessage(cause));
+          prepareCauseMessage(container, cause));
       result.format("at %s", cause.getStackTrace()[0].toString());
     }
     return result.reset().toString();
   }
 
-  private TimerTask createNewTask() {
-    return new TimerTask() {
+  private <T> T proceedWithOutput(
+      final Invocation<T> invocation,
+      final PrintStream output) throws Throwable {
+    if (output == null) {
+      return invocation.proceed();
+    }
+    final var binding = StandardStreams.bind(output);
+    try {
+      return invocation.proceed();
+    } finally {
+      binding.close();
+    }
+  }
+
+  /**
+   * Invokes on a separate thread of the container and waits no longer than the time limit of the
+   * test or of the container. Invocations which are made before the container is prepared, e.g.
+   * the constructor of a container with one instance per class, are invoked as they are.
+   */
+  private <T> T proceedWithTimeLimit(
+      final Invocation<T> invocation,
+      final ExtensionContext context,
+      final PrintStream output) throws Throwable {
+    final var container = getContainer(context);
+    if (container == null) {
+      return proceedWithOutput(invocation, output);
+    }
+    final var abandoned = container.abandonedThreads.get();
+    if (abandoned >= ABANDONED_THREADS_LIMIT) {
+      throw new TestAbortedException(String.format(
+          "%d threads of tests which are out of time are still running, restart the launch",
+          abandoned));
+    }
+    final var test = getTest(context);
+    final var route = StandardStreams.route(output);
+    final var limit = findTimeLimit(container, context);
+    final var invocationTime = new AtomicLong();
+    final var routeBack = new AtomicReference<StandardStreams.Route>();
+    final var abandonedThreads = container.abandonedThreads;
+    final var phase = new AtomicInteger(SUBMITTED);
+    final var dispatch = System.nanoTime();
+    final Future<T> task = container.executor.submit(() -> {
+      if (!phase.compareAndSet(SUBMITTED, RUNNING)) {
+        return null;
+      }
+      final var start = System.nanoTime();
+      final var binding = route.bind();
+      try {
+        return invocation.proceed();
+      } catch (Throwable throwable) {
+        throw new CompletionException(throwable);
+      } finally {
+        routeBack.set(StandardStreams.routeBack());
+        binding.close();
+        invocationTime.set(System.nanoTime() - start);
+        if (!phase.compareAndSet(RUNNING, FINISHED)) {
+          abandonedThreads.decrementAndGet();
+        }
+      }
+    });
+    try {
+      final var threshold = Math.min(ConsoleRenderer.PAINT_THRESHOLD.toNanos(), limit.toNanos());
+      try {
+        return task.get(threshold, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        renderer.expose();
+        return task.get(limit.toNanos() - threshold, TimeUnit.NANOSECONDS);
+      }
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+    } catch (TimeoutException e) {
+      abandon(task, phase, abandonedThreads);
+      throw new TimeLimitException(prepareDuration(limit.toNanos()));
+    } catch (InterruptedException e) {
+      abandon(task, phase, abandonedThreads);
+      throw e;
+    } finally {
+      if (!task.isCancelled()) {
+        bindBack(context, routeBack.get());
+        final var dispatchTime = Math.max(0, System.nanoTime() - dispatch - invocationTime.get());
+        if (test != null) {
+          test.dispatchTime += dispatchTime;
+          addOverhead(container, test, dispatchTime);
+        } else {
+          container.totalOverhead.add(dispatchTime);
+        }
+      }
+    }
+  }
+
+  /**
+   * Interrupts the thread of an invocation. The thread is counted until the invocation returns,
+   * an invocation which ignores interruption keeps its thread forever.
+   */
+  private void abandon(
+      final Future<?> task,
+      final AtomicInteger phase,
+      final AtomicInteger abandonedThreads) {
+    task.cancel(true);
+    if (phase.getAndSet(ABANDONED) == RUNNING) {
+      abandonedThreads.incrementAndGet();
+    }
+  }
+
+  /**
+   * Binds streams which are bound by an invocation, e.g. by a lifecycle method, to the waiting
+   * thread, so they are kept for the next invocations. Streams which are bound back for the same
+   * context before are restored first, the last ones are restored when JUnit closes the context.
+   */
+  private void bindBack(final ExtensionContext context, final StandardStreams.Route route) {
+    final var store = context.getStore(NAMESPACE);
+    final var previous = store.remove(RouteBack.class, RouteBack.class);
+    if (previous != null) {
+      previous.close();
+    }
+    if (route != null) {
+      store.put(RouteBack.class, new RouteBack(route.bind()));
+    }
+  }
+
+  /**
+   * Finds the time limit of the closest element, e.g. a dynamic test has no element and is
+   * limited as its test factory or container.
+   */
+  private Duration findTimeLimit(final ContainerState container, final ExtensionContext context) {
+    for (var current = Optional.of(context);
+        current.isPresent();
+        current = current.get().getParent()) {
+      final var annotation = AnnotationSupport
+          .findAnnotation(current.get().getElement(), TimeLimit.class);
+      if (annotation.isPresent()) {
+        if (annotation.get().value() <= 0) {
+          throw new IllegalArgumentException(String.format(
+              "Time limit of %s should be positive", current.get().getDisplayName()));
+        }
+        return Duration.of(annotation.get().value(), annotation.get().unit().toChronoUnit());
+      }
+    }
+    return container.timeLimit;
+  }
+
+  /**
+   * Thrown if a test is out of time.
+   */
+  private static class TimeLimitException extends TimeoutException {
+
+    private static final long serialVersionUID = 1L;
+
+    private TimeLimitException(final String limit) {
+      super(limit);
+    }
+  }
+
+  /**
+   * Streams which are bound back to the waiting thread, see {@link #bindBack}.
+   */
+  private static class RouteBack implements ExtensionContext.Store.CloseableResource {
+
+    private final StandardStreams.Binding binding;
 
-      @Override
-      public void run() {
-        failed++;
-        testTime = TimeUnit.SECONDS.toNanos(timeoutSec);
-        printEntry(State.INTERRUPTED, new TimeoutException());
-        System.exit(0);
+    private RouteBack(final StandardStreams.Binding binding) {
+      this.binding = binding;
+    }
+
+    @Override
+    public void close() {
+      binding.close();
+    }
+  }
+
+  /**
+   * State of a launch which is shared by its containers.
+   */
+  private static class LaunchState {
+
+    private final AtomicInteger abandonedThreads = new AtomicInteger();
+  }
+
+  /**
+   * State of a container which is shared by its tests. Tests may be executed at the same time, so
+   * counters are {@link LongAdder} instances and flags are volatile.
+   */
+  private static class ContainerState {
+
+    private final boolean errorMode;
+    private final boolean debugMode;
+    private final boolean verboseMode;
+    private final Duration timeLimit;
+    private final int captureLimit;
+    private final AtomicInteger abandonedThreads;
+    private final PrintStreamWrapper output;
+    private final ResultSink sink;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+      final var thread = new Thread(runnable, "container-test");
+      thread.setDaemon(true);
+      return thread;
+    });
+    private final LongAdder successful = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder disabled = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAdder totalOverhead = new LongAdder();
+    private volatile boolean noClassDef = false;
+    private volatile boolean printedDuringErrorMode = false;
+
+    private ContainerState(
+        final RunConfiguration configuration,
+        final PrintStream stream,
+        final AtomicInteger abandonedThreads) {
+      this.errorMode = configuration.isErrorMode();
+      this.debugMode = configuration.isDebugMode();
+      this.verboseMode = configuration.isVerboseMode();
+      this.timeLimit = configuration.getTimeLimit();
+      this.captureLimit = configuration.getCaptureLimit();
+      this.abandonedThreads = abandonedThreads;
+      this.output = new PrintStreamWrapper(stream, captureLimit);
+      if (configuration.getResultFile().isPresent()) {
+        try {
+          this.sink = ResultSink.open(configuration.getResultFile().get());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      } else {
+        this.sink = null;
+      }
+    }
+  }
+
+  /**
+   * State of a test or of an invocation of test template. All callbacks of a test are invoked by
+   * the same thread, invocations of the test are waited for by that thread as well.
+   */
+  private static class TestState {
+
+    private final String name;
+    private final TemplateState template;
+    private final int repetition;
+    private PrintStreamWrapper output;
+    private long beginning = 0;
+    private long dispatchTime = 0;
+    private long time = 0;
+    private long overhead = 0;
+    private boolean printed = false;
+
+    private TestState(final String name, final TemplateState template, final int repetition) {
+      this.name = name;
+      this.template = template;
+      this.repetition = repetition;
+    }
+  }
+
+  /**
+   * State of a test template. The summary of invocations is printed when JUnit closes the store
+   * of the template, that is after its last invocation.
+   */
+  private class TemplateState implements ExtensionContext.Store.CloseableResource {
+
+    private final ContainerState container;
+    private final String name;
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicInteger successful = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger aborted = new AtomicInteger();
+    private final AtomicInteger noSuchMethodWithPrints = new AtomicInteger();
+    private final LongAdder time = new LongAdder();
+    private volatile State state;
+    private volatile String reason;
+
+    private TemplateState(final ContainerState container, final String name) {
+      this.container = container;
+      this.name = name;
+    }
+
+    @Override
+    public void close() {
+      if (!container.noClassDef && state != null
+          && (
+          (successful.get() > 0 && !container.errorMode)
+              || (
+              state == State.NO_METHOD
+                  && noSuchMethodWithPrints.get() != invocations.get()))) {
+        synchronized (renderer) {
+          clearLastLine();
+          renderer.println(prepareSummary(container, this));
+        }
       }
-    };
+    }
   }
 }
@@ -1,7 +1,6 @@
 package academy.kovalevskyi.testing.service;
 
 import academy.kovalevskyi.testing.exception.RequestException;
-import academy.kovalevskyi.testing.util.ContainerManager;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
@@ -16,9 +15,14 @@ public class ContainerRequest implements Request {
   private final int week;
   private final int day;
   private final int id;
-  private final Predicate<Class<?>> predicate;
-
-  private ContainerRequest(String key, int week, int day, int id, Predicate<Class<?>> predicate) {
+  private final Predicate<ContainerDescriptor> predicate;
+
+  private ContainerRequest(
+      String key,
+      int week,
+      int day,
+      int id,
+      Predicate<ContainerDescriptor> predicate) {
     this.key = key;
     this.week = week;
     this.day = day;
@@ -32,6 +36,11 @@ public class ContainerRequest implements Request {
 
   @Override
   public Predicate<Class<?>> getPredicate() {
+    return clazz -> predicate.test(ContainerDescriptor.of(clazz));
+  }
+
+  @Override
+  public Predicate<ContainerDescriptor> getDescriptorPredicate() {
     return predicate;
   }
 
@@ -55,7 +64,7 @@ public class ContainerRequest implements Request {
 
   public static class Builder {
 
-    private final List<Predicate<Class<?>>> predicates;
+    private final List<Predicate<ContainerDescriptor>> predicates;
     private String key;
     private int week;
     private int day;
@@ -70,25 +79,25 @@ public class ContainerRequest implements Request {
 
     public Builder course(String key) {
       this.key = key;
-      predicates.add(clazz -> ContainerManager.initProvider(clazz).key().equalsIgnoreCase(key));
+      predicates.add(descriptor -> descriptor.key().equalsIgnoreCase(key));
       return this;
     }
 
     public Builder week(int number) {
       week = number;
-      predicates.add(clazz -> ContainerManager.getAnnotation(clazz).week() == number);
+      predicates.add(descriptor -> descriptor.week() == number);
       return this;
     }
 
     public Builder day(int number) {
       day = number;
-      predicates.add(clazz -> ContainerManager.getAnnotation(clazz).day() == number);
+      predicates.add(descriptor -> descriptor.day() == number);
       return this;
     }
 
     public Builder container(int number) {
       id = number;
-      predicates.add(clazz -> ContainerManager.getAnnotation(clazz).id() == number);
+      predicates.add(descriptor -> descriptor.id() == number);
       return this;
     }
 
@@ -8,4 +8,10 @@ public interface FrameworkProperty {
   String ERROR_MODE = "academy.kovalevskyi.testing.mode.error";
   String DEBUG_MODE = "academy.kovalevskyi.testing.mode.debug";
   String VERBOSE_MODE = "academy.kovalevskyi.testing.mode.verbose";
+  String TIME_LIMIT = "academy.kovalevskyi.testing.time.limit.ms";
+  String CAPTURE_LIMIT = "academy.kovalevskyi.testing.capture.limit";
+  String RESULT_FILE = "academy.kovalevskyi.testing.result.file";
+  String REGISTRY = "academy.kovalevskyi.testing.registry";
+  String INDEX_DIRECTORY = "academy.kovalevskyi.testing.index.directory";
+  String COURSE_CLASSPATH = "academy.kovalevskyi.testing.course.classpath";
 }
@@ -0,0 +1,119 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes one JSON object per line for each test:
+ * <pre>
+ * {"container":"a.b.Container","method":"test","repetition":0,"state":"FAILED",
+ * "duration":1200,"cause":"expected: &lt;1&gt; but was: &lt;2&gt;"}
+ * </pre>
+ * The cause is null for successful tests. Lines are collected in a buffer and appended to the
+ * file by whole lines, so containers which are executed at the same time can share the file.
+ */
+public final class JsonLinesSink implements ResultSink {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private final StringBuilder line = new StringBuilder();
+
+  /**
+   * Opens the file for appending, the file is created if it is absent.
+   *
+   * @param file path of the file
+   * @throws IOException if the file can not be opened
+   */
+  public JsonLinesSink(final Path file) throws IOException {
+    this.channel = FileChannel.open(
+        file,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  @Override
+  public synchronized void accept(final TestResult result) throws IOException {
+    line.setLength(0);
+    line.append("{\"container\":");
+    appendString(result.container());
+    line.append(",\"method\":");
+    appendString(result.method());
+    line.append(",\"repetition\":").append(result.repetition());
+    line.append(",\"state\":\"").append(result.state().name());
+    line.append("\",\"duration\":").append(result.duration());
+    line.append(",\"cause\":");
+    appendString(result.cause());
+    line.append("}\n");
+
+    final var bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > buffer.remaining()) {
+      flush();
+    }
+    if (bytes.length > buffer.capacity()) {
+      write(ByteBuffer.wrap(bytes));
+    } else {
+      buffer.put(bytes);
+    }
+  }
+
+  /**
+   * Appends all buffered lines to the file.
+   *
+   * @throws IOException if lines can not be written
+   */
+  public synchronized void flush() throws IOException {
+    buffer.flip();
+    write(buffer);
+    buffer.clear();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (channel.isOpen()) {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  private void write(final ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  private void appendString(final String value) {
+    if (value == null) {
+      line.append("null");
+      return;
+    }
+    line.append('"');
+    for (var index = 0; index < value.length(); index++) {
+      final var symbol = value.charAt(index);
+      switch (symbol) {
+        case '"' -> line.append("\\\"");
+        case '\\' -> line.append("\\\\");
+        case '\n' -> line.append("\\n");
+        case '\r' -> line.append("\\r");
+        case '\t' -> line.append("\\t");
+        default -> {
+          if (symbol < 0x20) {
+            line.append("\\u00").append(HEX[symbol >> 4]).append(HEX[symbol & 0xF]);
+          } else {
+            line.append(symbol);
+          }
+        }
+      }
+    }
+    line.append('"');
+  }
+}
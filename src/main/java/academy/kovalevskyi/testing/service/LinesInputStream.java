@@ -0,0 +1,82 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+
+/**
+ * Input stream which encodes lines only when they are read, each line is followed by the line
+ * separator. Lines may be generated by the stream, so large input never exists in memory as a
+ * whole.
+ */
+final class LinesInputStream extends InputStream {
+
+  private static final byte[] EMPTY = new byte[0];
+  private final Stream<? extends CharSequence> lines;
+  private final Iterator<? extends CharSequence> iterator;
+  private final Charset charset;
+  private byte[] line = EMPTY;
+  private int position;
+  private boolean closed = false;
+
+  /**
+   * Creates a stream of lines.
+   *
+   * @param lines   lines of input
+   * @param charset charset which encodes lines
+   */
+  LinesInputStream(final Stream<? extends CharSequence> lines, final Charset charset) {
+    this.lines = lines;
+    this.iterator = lines.iterator();
+    this.charset = charset;
+  }
+
+  @Override
+  public synchronized int read() {
+    if (position == line.length && !encodeNext()) {
+      return -1;
+    }
+    return line[position++] & 0xFF;
+  }
+
+  @Override
+  public synchronized int read(@Nonnull byte[] b, int off, int len) {
+    Objects.checkFromIndexSize(off, len, b.length);
+    if (len == 0) {
+      return 0;
+    }
+    var count = 0;
+    while (count < len && (position < line.length || encodeNext())) {
+      final var part = Math.min(len - count, line.length - position);
+      System.arraycopy(line, position, b, off + count, part);
+      position += part;
+      count += part;
+    }
+    return count == 0 ? -1 : count;
+  }
+
+  @Override
+  public synchronized int available() {
+    return line.length - position;
+  }
+
+  @Override
+  public synchronized void close() {
+    line = EMPTY;
+    position = 0;
+    closed = true;
+    lines.close();
+  }
+
+  private boolean encodeNext() {
+    if (closed || !iterator.hasNext()) {
+      return false;
+    }
+    line = (iterator.next() + System.lineSeparator()).getBytes(charset);
+    position = 0;
+    return true;
+  }
+}
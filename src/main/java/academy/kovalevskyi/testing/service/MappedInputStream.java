@@ -0,0 +1,96 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * Input stream which reads a file through memory mapping. The file is mapped by windows one after
+ * another, so the content is neither copied to the heap nor limited by 2 GiB.
+ */
+final class MappedInputStream extends InputStream {
+
+  private static final long WINDOW_SIZE = 1L << 30;
+  private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+  private final FileChannel channel;
+  private final long size;
+  private final long windowSize;
+  private long mapped;
+  private ByteBuffer window = EMPTY;
+
+  /**
+   * Opens the file for reading.
+   *
+   * @param file path of the file
+   * @throws IOException if the file can not be opened
+   */
+  MappedInputStream(final Path file) throws IOException {
+    this(file, WINDOW_SIZE);
+  }
+
+  MappedInputStream(final Path file, final long windowSize) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+    if (!window.hasRemaining() && !mapNext()) {
+      return -1;
+    }
+    return window.get() & 0xFF;
+  }
+
+  @Override
+  public synchronized int read(@Nonnull byte[] b, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    if (len == 0) {
+      return 0;
+    }
+    if (!window.hasRemaining() && !mapNext()) {
+      return -1;
+    }
+    final var count = Math.min(len, window.remaining());
+    window.get(b, off, count);
+    return count;
+  }
+
+  @Override
+  public synchronized long skip(long n) throws IOException {
+    var skipped = 0L;
+    while (skipped < n && (window.hasRemaining() || mapNext())) {
+      final var count = (int) Math.min(n - skipped, window.remaining());
+      window.position(window.position() + count);
+      skipped += count;
+    }
+    return skipped;
+  }
+
+  @Override
+  public synchronized int available() {
+    return (int) Math.min(Integer.MAX_VALUE, window.remaining() + size - mapped);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    window = EMPTY;
+    mapped = size;
+    channel.close();
+  }
+
+  private boolean mapNext() throws IOException {
+    if (mapped >= size) {
+      return false;
+    }
+    final var length = Math.min(windowSize, size - mapped);
+    window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+    mapped += length;
+    return true;
+  }
+}
@@ -0,0 +1,174 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.Optional;
+
+/**
+ * Compares captured output with expected output which is streamed from a file or a resource. The
+ * expected output is hashed while it is read and compared with the {@link RollingHash} of
+ * captured bytes, so equal outputs are checked in constant memory. Only if hashes differ the
+ * expected output is read again, line by line, up to the first different line. The message shows
+ * a few lines around it and is shorter than the limit of messages of {@link ContainerHandler}.
+ */
+final class OutputComparator {
+
+  static final int MESSAGE_LIMIT = 600;
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int CONTEXT = 2;
+  private static final int LINE_LIMIT = 48;
+  private static final int LINE_OFFSET = 16;
+  private static final String NO_LINE = "<end of output>";
+
+  private OutputComparator() {
+  }
+
+  /**
+   * Compares captured output with expected output.
+   *
+   * @param expected source of expected output, it is opened once for equal outputs and twice
+   *                 otherwise
+   * @param actual   captured output
+   * @return description of the first difference or empty Optional if outputs are equal
+   * @throws IOException if expected output can not be read
+   */
+  static Optional<String> compare(
+      final Source expected,
+      final CapturedOutput actual) throws IOException {
+    final long size;
+    final long hash;
+    synchronized (actual) {
+      size = actual.size();
+      hash = actual.hash();
+    }
+    var expectedSize = 0L;
+    var expectedHash = 0L;
+    try (var input = expected.open()) {
+      final var buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        expectedHash = RollingHash.update(expectedHash, buffer, 0, count);
+        expectedSize += count;
+      }
+    }
+    if (expectedSize == size && expectedHash == hash) {
+      return Optional.empty();
+    }
+    return Optional.of(describe(expected, actual));
+  }
+
+  private static String describe(
+      final Source expected,
+      final CapturedOutput actual) throws IOException {
+    try (var reader = new BufferedReader(
+        new InputStreamReader(expected.open(), actual.charset()))) {
+      final var previous = new ArrayDeque<String>(CONTEXT);
+      final var count = actual.lineCount();
+      var index = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (index >= count || !line.equals(actual.line(index))) {
+          return describe(index, previous, line, reader, actual);
+        }
+        if (previous.size() == CONTEXT) {
+          previous.removeFirst();
+        }
+        previous.addLast(line);
+        index++;
+      }
+      if (index < count) {
+        return describe(index, previous, null, reader, actual);
+      }
+      return "Output differs from expected output only in line separators";
+    }
+  }
+
+  private static String describe(
+      final int index,
+      final ArrayDeque<String> previous,
+      final String expectedLine,
+      final BufferedReader reader,
+      final CapturedOutput actual) throws IOException {
+    final var actualLine = index < actual.lineCount() ? actual.line(index) : null;
+    final var column = findColumn(expectedLine, actualLine);
+    final var result = new StringBuilder(String.format(
+        "Output differs from expected output at line %d, column %d%n",
+        index + 1,
+        column + 1));
+    var number = index - previous.size() + 1;
+    for (var line : previous) {
+      appendLine(result, ' ', number++, line, 0);
+    }
+    final var offset = Math.max(0, column - LINE_OFFSET);
+    appendLine(result, '-', index + 1, expectedLine, offset);
+    for (var next = 1; next <= CONTEXT && expectedLine != null; next++) {
+      final var line = reader.readLine();
+      if (line == null) {
+        break;
+      }
+      appendLine(result, '-', index + 1 + next, line, 0);
+    }
+    appendLine(result, '+', index + 1, actualLine, offset);
+    for (var next = 1; next <= CONTEXT && index + next < actual.lineCount(); next++) {
+      appendLine(result, '+', index + 1 + next, actual.line(index + next), 0);
+    }
+    if (result.length() > MESSAGE_LIMIT) {
+      result.setLength(MESSAGE_LIMIT);
+    }
+    return result.toString().stripTrailing();
+  }
+
+  private static int findColumn(final String expected, final String actual) {
+    if (expected == null || actual == null) {
+      return 0;
+    }
+    final var length = Math.min(expected.length(), actual.length());
+    for (var index = 0; index < length; index++) {
+      if (expected.charAt(index) != actual.charAt(index)) {
+        return index;
+      }
+    }
+    return length;
+  }
+
+  private static void appendLine(
+      final StringBuilder result,
+      final char marker,
+      final int number,
+      final String line,
+      final int offset) {
+    result.append(marker).append(' ').append(number).append(" | ");
+    if (line == null) {
+      result.append(NO_LINE);
+    } else {
+      final var start = Math.min(offset, line.length());
+      final var end = Math.min(line.length(), start + LINE_LIMIT);
+      if (start > 0) {
+        result.append("...");
+      }
+      result.append(line, start, end);
+      if (end < line.length()) {
+        result.append("...");
+      }
+    }
+    result.append(System.lineSeparator());
+  }
+
+  /**
+   * Opens expected output.
+   */
+  @FunctionalInterface
+  interface Source {
+
+    /**
+     * Opens a new stream of expected output.
+     *
+     * @return stream of expected output
+     * @throws IOException if the output can not be opened
+     */
+    InputStream open() throws IOException;
+  }
+}
@@ -1,23 +1,46 @@
 package academy.kovalevskyi.testing.service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import javax.annotation.Nonnull;
 
+/**
+ * Print stream which passes output of tests to the default stream only while it is enabled. The
+ * first output after enabling is preceded by a colon and a new line, so it starts under the name
+ * of the test. Everything is encoded once by this stream and goes to the default stream through
+ * {@link Tracker}, which is called only under the lock of this stream. No more than the capture
+ * limit of output of each test is passed: the head is passed at once, the tail is kept in a ring
+ * buffer until the stream is disabled, the middle is dropped and the number of dropped bytes is
+ * printed instead of it. A disabled stream drops output after a single volatile read.
+ */
 public class PrintStreamWrapper extends PrintStream {
 
   private static final byte NEW_LINE_BYTE = 10;
-  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-  private final PrintStream stream = new PrintStream(buffer);
-  private final PrintStream defaultStream;
+  private static final byte TWO_DOTS_BYTE = 58;
+  private final Tracker tracker;
   private volatile boolean state = false;
   private volatile boolean alive = true;
-  private volatile boolean content = false;
 
   public PrintStreamWrapper(final PrintStream defaultStream) {
-    super(defaultStream);
-    this.defaultStream = defaultStream;
+    this(defaultStream, RunConfiguration.DEFAULT_CAPTURE_LIMIT);
+  }
+
+  /**
+   * Creates a wrapper which passes no more than some bytes of output of each test. The head and
+   * the tail of longer output are passed, the middle is dropped.
+   *
+   * @param defaultStream stream which gets output of tests
+   * @param captureLimit  maximum number of bytes of output of each test
+   */
+  public PrintStreamWrapper(final PrintStream defaultStream, final int captureLimit) {
+    this(new Tracker(defaultStream, captureLimit));
+  }
+
+  private PrintStreamWrapper(final Tracker tracker) {
+    super(tracker);
+    this.tracker = tracker;
   }
 
   @Override
@@ -25,7 +48,7 @@ public class PrintStreamWrapper extends PrintStream {
     if (!alive) {
       return false;
     }
-    return super.checkError() || stream.checkError();
+    return super.checkError() || tracker.target.checkError();
   }
 
   @Override
@@ -42,348 +65,207 @@ public class PrintStreamWrapper extends PrintStream {
       return;
     }
     super.flush();
-    stream.flush();
   }
 
   @Override
   public void write(int b) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.write(b);
-      stream.write(b);
     }
   }
 
   @Override
   public void write(@Nonnull byte[] buf, int off, int len) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.write(buf, off, len);
-      stream.write(buf, off, len);
     }
   }
 
   @Override
   public void print(boolean b) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(b);
-      stream.print(b);
     }
   }
 
   @Override
   public void print(char c) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(c);
-      stream.print(c);
     }
   }
 
   @Override
   public void print(int i) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(i);
-      stream.print(i);
     }
   }
 
   @Override
   public void print(long l) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(l);
-      stream.print(l);
     }
   }
 
   @Override
   public void print(float f) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(f);
-      stream.print(f);
     }
   }
 
   @Override
   public void print(double d) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(d);
-      stream.print(d);
     }
   }
 
   @Override
   public void print(@Nonnull char[] s) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(s);
-      stream.print(s);
     }
   }
 
   @Override
   public void print(String s) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(s);
-      stream.print(s);
     }
   }
 
   @Override
   public void print(Object obj) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.print(obj);
-      stream.print(obj);
     }
   }
 
   @Override
   public void println() {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println();
-      stream.println();
     }
   }
 
   @Override
   public void println(boolean x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(char x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(int x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(long x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(float x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(double x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(@Nonnull char[] x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(String x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public void println(Object x) {
-    if (!alive) {
-      return;
-    }
-    checkBuffer();
     if (state) {
       super.println(x);
-      stream.println(x);
     }
   }
 
   @Override
   public PrintStream printf(@Nonnull String format, Object... args) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.printf(format, args);
-      stream.printf(format, args);
     }
     return this;
   }
 
   @Override
   public PrintStream printf(Locale l, @Nonnull String format, Object... args) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.printf(l, format, args);
-      stream.printf(l, format, args);
     }
     return this;
   }
 
   @Override
   public PrintStream format(@Nonnull String format, Object... args) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.format(format, args);
-      stream.format(format, args);
     }
     return this;
   }
 
   @Override
   public PrintStream format(Locale l, @Nonnull String format, Object... args) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.format(l, format, args);
-      stream.format(l, format, args);
     }
     return this;
   }
 
   @Override
   public PrintStream append(CharSequence csq) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.append(csq);
-      stream.append(csq);
     }
     return this;
   }
 
   @Override
   public PrintStream append(CharSequence csq, int start, int end) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.append(csq, start, end);
-      stream.append(csq, start, end);
     }
     return this;
   }
 
   @Override
   public PrintStream append(char c) {
-    if (!alive) {
-      return this;
-    }
-    checkBuffer();
     if (state) {
       super.append(c);
-      stream.append(c);
     }
     return this;
   }
@@ -392,7 +274,16 @@ public class PrintStreamWrapper extends PrintStream {
     if (!alive) {
       return false;
     }
-    return content;
+    return tracker.content;
+  }
+
+  /**
+   * Provides number of bytes of output of the current test which were dropped so far.
+   *
+   * @return number of dropped bytes
+   */
+  synchronized long getDroppedBytes() {
+    return tracker.dropped;
   }
 
   void enable() {
@@ -409,44 +300,173 @@ public class PrintStreamWrapper extends PrintStream {
       return;
     }
     synchronized (this) {
-      transferToNewLine();
       state = false;
-      content = false;
-      buffer.reset();
+      tracker.passTail();
+      transferToNewLine();
+      tracker.content = false;
     }
   }
 
+  boolean isDestroyed() {
+    return !alive;
+  }
+
   void destroy() {
     if (!alive) {
       return;
     }
     synchronized (this) {
+      state = false;
       alive = false;
-      stream.close();
+      tracker.tail = null;
     }
   }
 
-  private void checkBuffer() {
-    synchronized (this) {
-      if (state && buffer.size() == 0) {
-        content = true;
-        var twoDotsByte = 58;
-        defaultStream.write(twoDotsByte);
-        stream.write(twoDotsByte);
-        appendNewLine();
+  private void transferToNewLine() {
+    if (tracker.content && tracker.lastByte != NEW_LINE_BYTE) {
+      tracker.target.write(NEW_LINE_BYTE);
+    }
+  }
+
+  /**
+   * Passes encoded output to the default stream and remembers whether the current test printed
+   * something and which byte was passed last. Output beyond the head of the capture limit goes to
+   * a ring buffer of the tail, which is allocated on demand. Every call is made under the lock of
+   * the wrapper, so no other synchronization is needed.
+   */
+  private static class Tracker extends OutputStream {
+
+    private final PrintStream target;
+    private final int headLimit;
+    private final int tailLimit;
+    private volatile boolean content = false;
+    private byte lastByte;
+    private int passed;
+    private byte[] tail;
+    private int tailStart;
+    private int tailSize;
+    private long dropped;
+
+    private Tracker(final PrintStream target, final int limit) {
+      this.target = target;
+      this.headLimit = limit / 2;
+      this.tailLimit = limit - headLimit;
+    }
+
+    @Override
+    public void write(int b) {
+      checkContent();
+      if (passed < headLimit) {
+        target.write(b);
+        passed++;
+        lastByte = (byte) b;
+      } else {
+        writeTail((byte) b);
       }
     }
-  }
 
-  private void appendNewLine() {
-    defaultStream.write(NEW_LINE_BYTE);
-    stream.write(NEW_LINE_BYTE);
-  }
+    @Override
+    public void write(@Nonnull byte[] b, int off, int len) {
+      if (len == 0) {
+        return;
+      }
+      checkContent();
+      final var toHead = Math.min(len, headLimit - passed);
+      if (toHead > 0) {
+        target.write(b, off, toHead);
+        passed += toHead;
+        lastByte = b[off + toHead - 1];
+      }
+      if (toHead < len) {
+        writeTail(b, off + toHead, len - toHead);
+      }
+    }
 
-  private void transferToNewLine() {
-    var size = buffer.size();
-    if (size > 0 && buffer.toByteArray()[size - 1] != NEW_LINE_BYTE) {
-      appendNewLine();
+    @Override
+    public void flush() {
+      target.flush();
+    }
+
+    /**
+     * Passes the kept tail after the number of dropped bytes, so the next test starts with an
+     * empty capture.
+     */
+    private void passTail() {
+      if (dropped > 0) {
+        if (lastByte != NEW_LINE_BYTE) {
+          target.write(NEW_LINE_BYTE);
+        }
+        final var message = String
+            .format("... %d bytes are dropped ...\n", dropped)
+            .getBytes(StandardCharsets.UTF_8);
+        target.write(message, 0, message.length);
+        lastByte = NEW_LINE_BYTE;
+      }
+      if (tailSize > 0) {
+        final var first = Math.min(tailSize, tailLimit - tailStart);
+        target.write(tail, tailStart, first);
+        target.write(tail, 0, tailSize - first);
+        lastByte = tail[(tailStart + tailSize - 1) % tailLimit];
+      }
+      passed = 0;
+      tailStart = 0;
+      tailSize = 0;
+      dropped = 0;
+    }
+
+    private void writeTail(final byte b) {
+      if (tailLimit == 0) {
+        dropped++;
+        return;
+      }
+      if (tail == null) {
+        tail = new byte[tailLimit];
+      }
+      if (tailSize == tailLimit) {
+        tail[tailStart] = b;
+        tailStart = (tailStart + 1) % tailLimit;
+        dropped++;
+      } else {
+        tail[(tailStart + tailSize) % tailLimit] = b;
+        tailSize++;
+      }
+    }
+
+    private void writeTail(byte[] b, int off, int len) {
+      if (tailLimit == 0) {
+        dropped += len;
+        return;
+      }
+      if (tail == null) {
+        tail = new byte[tailLimit];
+      }
+      if (len >= tailLimit) {
+        dropped += tailSize + len - tailLimit;
+        System.arraycopy(b, off + len - tailLimit, tail, 0, tailLimit);
+        tailStart = 0;
+        tailSize = tailLimit;
+        return;
+      }
+      final var overflow = tailSize + len - tailLimit;
+      if (overflow > 0) {
+        dropped += overflow;
+        tailStart = (tailStart + overflow) % tailLimit;
+        tailSize -= overflow;
+      }
+      final var end = (tailStart + tailSize) % tailLimit;
+      final var first = Math.min(len, tailLimit - end);
+      System.arraycopy(b, off, tail, end, first);
+      System.arraycopy(b, off + first, tail, 0, len - first);
+      tailSize += len;
+    }
+
+    private void checkContent() {
+      if (!content) {
+        content = true;
+        target.write(TWO_DOTS_BYTE);
+        target.write(NEW_LINE_BYTE);
+        lastByte = NEW_LINE_BYTE;
+      }
     }
   }
 }
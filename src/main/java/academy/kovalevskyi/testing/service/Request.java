@@ -8,4 +8,15 @@ import java.util.function.Predicate;
 public interface Request {
 
   Predicate<Class<?>> getPredicate();
+
+  /**
+   * Provides a predicate of container descriptors. Descriptors which are read from the container
+   * index are filtered with no course providers, override it to avoid
+   * {@link ContainerDescriptor#of(Class)} calls.
+   *
+   * @return predicate of descriptors
+   */
+  default Predicate<ContainerDescriptor> getDescriptorPredicate() {
+    return descriptor -> getPredicate().test(descriptor.container());
+  }
 }
@@ -0,0 +1,37 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Receiver of results of tests. {@link ContainerHandler} opens a sink for each container when
+ * {@link RunConfiguration#getResultFile()} is present and closes it after all tests of the
+ * container.
+ */
+public interface ResultSink extends Closeable {
+
+  /**
+   * Opens a sink which appends results to the file. Results are written in binary format if the
+   * file has {@value BinaryResultSink#EXTENSION} extension, see {@link BinaryResultSink}, and as
+   * JSON Lines otherwise, see {@link JsonLinesSink}.
+   *
+   * @param file path of the file
+   * @return an open sink
+   * @throws IOException if the file can not be opened
+   */
+  static ResultSink open(final Path file) throws IOException {
+    if (file.getFileName().toString().endsWith(BinaryResultSink.EXTENSION)) {
+      return new BinaryResultSink(file);
+    }
+    return new JsonLinesSink(file);
+  }
+
+  /**
+   * Takes a result of a test. The result may be kept in memory until the sink is closed.
+   *
+   * @param result result of a test
+   * @throws IOException if the result can not be written
+   */
+  void accept(TestResult result) throws IOException;
+}
@@ -0,0 +1,43 @@
+package academy.kovalevskyi.testing.service;
+
+/**
+ * Polynomial hash of bytes modulo the Mersenne prime 2^61 - 1. The hash is updated by appended
+ * bytes, so output can be hashed while it is written and a file can be hashed while it is read.
+ * Equal hashes of bytes of the same length mean equal bytes with probability of a collision about
+ * length / 2^61.
+ */
+final class RollingHash {
+
+  private static final long MODULUS = (1L << 61) - 1;
+  private static final long BASE = 0x1F3D5B79A2C4E6F1L % MODULUS;
+
+  private RollingHash() {
+  }
+
+  /**
+   * Updates the hash by appended bytes.
+   *
+   * @param hash  hash of previous bytes, 0 for no bytes
+   * @param bytes array with appended bytes
+   * @param off   index of the first appended byte
+   * @param len   number of appended bytes
+   * @return hash of previous and appended bytes
+   */
+  static long update(final long hash, final byte[] bytes, final int off, final int len) {
+    var result = hash;
+    for (var index = off; index < off + len; index++) {
+      result = multiply(result, BASE) + (bytes[index] & 0xFF) + 1;
+      if (result >= MODULUS) {
+        result -= MODULUS;
+      }
+    }
+    return result;
+  }
+
+  private static long multiply(final long left, final long right) {
+    final var high = Math.multiplyHigh(left, right);
+    final var low = left * right;
+    final var result = (low & MODULUS) + ((low >>> 61) | (high << 3));
+    return result >= MODULUS ? result - MODULUS : result;
+  }
+}
@@ -0,0 +1,94 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.annotation.Nonnull;
+
+/**
+ * Input stream which reads from the stream bound to the current thread or from the default
+ * stream if nothing is bound. Threads which are started by a bound thread inherit its stream, see
+ * {@link RoutingPrintStream}.
+ */
+final class RoutingInputStream extends InputStream {
+
+  private final InheritableThreadLocal<InputStream> routes = new InheritableThreadLocal<>();
+  private final InputStream defaultStream;
+
+  /**
+   * Creates a stream which reads from the default stream until some stream is bound.
+   *
+   * @param defaultStream stream for threads which have no bound stream
+   */
+  RoutingInputStream(final InputStream defaultStream) {
+    this.defaultStream = defaultStream;
+  }
+
+  /**
+   * Binds the stream to the current thread and threads which will be started by it.
+   *
+   * @param stream stream of the current thread
+   */
+  void bind(final InputStream stream) {
+    routes.set(stream);
+  }
+
+  /**
+   * Routes the current thread back to the default stream.
+   */
+  void unbind() {
+    routes.remove();
+  }
+
+  /**
+   * Provides the stream which is bound to the current thread.
+   *
+   * @return the bound stream or the default stream
+   */
+  InputStream current() {
+    final var stream = routes.get();
+    return stream != null ? stream : defaultStream;
+  }
+
+  /**
+   * Provides the stream which is bound to the current thread.
+   *
+   * @return the bound stream or null if nothing is bound
+   */
+  InputStream bound() {
+    return routes.get();
+  }
+
+  @Override
+  public int read() throws IOException {
+    return current().read();
+  }
+
+  @Override
+  public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+    return current().read(b, off, len);
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    return current().skip(n);
+  }
+
+  @Override
+  public int available() throws IOException {
+    return current().available();
+  }
+
+  /**
+   * Closes the bound stream, the default stream is never closed, so a test which closes
+   * {@link System#in} does not break other tests.
+   *
+   * @throws IOException if the bound stream can not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    final var stream = routes.get();
+    if (stream != null) {
+      stream.close();
+    }
+  }
+}
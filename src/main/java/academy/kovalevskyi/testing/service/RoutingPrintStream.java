@@ -0,0 +1,140 @@
+package academy.kovalevskyi.testing.service;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import javax.annotation.Nonnull;
+
+/**
+ * Print stream which sends everything to the stream bound to the current thread or to the default
+ * stream if nothing is bound. Threads which are started by a bound thread inherit its stream. Lets
+ * to install one stream as {@link System#out} or {@link System#err} for many threads which need
+ * their own output.
+ *
+ * <p>Output of threads which have no bound stream, e.g. threads of a pool which were started
+ * before a test, goes to the fallback stream if it is set. Threads which inherited a destroyed
+ * {@link PrintStreamWrapper} of a finished test are treated the same way.
+ */
+public class RoutingPrintStream extends PrintStream {
+
+  private final Router router;
+
+  /**
+   * Creates a stream which sends everything to the default stream until some stream is bound.
+   *
+   * @param defaultStream stream for threads which have no bound stream
+   */
+  public RoutingPrintStream(final PrintStream defaultStream) {
+    this(new Router(defaultStream));
+  }
+
+  private RoutingPrintStream(final Router router) {
+    super(router, true);
+    this.router = router;
+  }
+
+  /**
+   * Provides the stream which is bound to the current thread if the stream is an instance of
+   * {@link RoutingPrintStream}.
+   *
+   * @param stream any stream
+   * @return the bound stream or the stream itself
+   */
+  public static PrintStream resolve(final PrintStream stream) {
+    if (stream instanceof RoutingPrintStream routingStream) {
+      return routingStream.current();
+    }
+    return stream;
+  }
+
+  /**
+   * Binds the stream to the current thread and threads which will be started by it.
+   *
+   * @param stream stream of the current thread
+   */
+  public void bind(final PrintStream stream) {
+    flush();
+    router.routes.set(stream);
+  }
+
+  /**
+   * Routes the current thread back to the default stream.
+   */
+  public void unbind() {
+    flush();
+    router.routes.remove();
+  }
+
+  /**
+   * Provides the stream which is bound to the current thread.
+   *
+   * @return the bound stream or the default stream
+   */
+  public PrintStream current() {
+    return router.current();
+  }
+
+  /**
+   * Provides the stream which is bound to the current thread.
+   *
+   * @return the bound stream or null if nothing is bound
+   */
+  PrintStream bound() {
+    return router.routes.get();
+  }
+
+  /**
+   * Routes threads which have no bound stream to the stream instead of the default stream.
+   *
+   * @param stream stream for unbound threads or null to route them to the default stream
+   */
+  void fallback(final PrintStream stream) {
+    flush();
+    router.fallback = stream;
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+
+  private static class Router extends OutputStream {
+
+    private final InheritableThreadLocal<PrintStream> routes = new InheritableThreadLocal<>();
+    private final PrintStream defaultStream;
+    private volatile PrintStream fallback;
+
+    private Router(final PrintStream defaultStream) {
+      this.defaultStream = defaultStream;
+    }
+
+    @Override
+    public void write(int b) {
+      target().write(b);
+    }
+
+    @Override
+    public void write(@Nonnull byte[] b, int off, int len) {
+      target().write(b, off, len);
+    }
+
+    @Override
+    public void flush() {
+      target().flush();
+    }
+
+    private PrintStream target() {
+      final var stream = routes.get();
+      if (stream != null
+          && !(stream instanceof PrintStreamWrapper wrapper && wrapper.isDestroyed())) {
+        return stream;
+      }
+      final var unbound = fallback;
+      return unbound != null ? unbound : defaultStream;
+    }
+
+    private PrintStream current() {
+      final var stream = routes.get();
+      return stream != null ? stream : defaultStream;
+    }
+  }
+}
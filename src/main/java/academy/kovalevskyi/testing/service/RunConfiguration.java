@@ -0,0 +1,227 @@
+package academy.kovalevskyi.testing.service;
+
+import academy.kovalevskyi.testing.annotation.TimeLimit;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Immutable configuration of one launch of test containers. It is passed to
+ * {@link ContainerHandler} through JUnit configuration parameters, so launches with different
+ * modes do not affect each other.
+ */
+public final class RunConfiguration {
+
+  /**
+   * Time limit of tests which do not have their own {@link TimeLimit}.
+   */
+  public static final Duration DEFAULT_TIME_LIMIT = Duration.ofSeconds(15);
+  /**
+   * Number of bytes of output of each test which are passed to the report in debug mode.
+   */
+  public static final int DEFAULT_CAPTURE_LIMIT = 1 << 20;
+  private final boolean errorMode;
+  private final boolean debugMode;
+  private final boolean verboseMode;
+  private final int parallelism;
+  private final Duration timeLimit;
+  private final int captureLimit;
+  private final Path resultFile;
+
+  private RunConfiguration(Builder builder) {
+    this.errorMode = builder.errorMode;
+    this.debugMode = builder.debugMode;
+    this.verboseMode = builder.verboseMode;
+    this.parallelism = builder.parallelism;
+    this.timeLimit = builder.timeLimit;
+    this.captureLimit = builder.captureLimit;
+    this.resultFile = builder.resultFile;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Reads configuration of the current launch. Parameters which are absent in the launch are
+   * looked up in system properties by JUnit.
+   *
+   * @param context the current extension context
+   * @return configuration of the launch
+   */
+  public static RunConfiguration from(final ExtensionContext context) {
+    return builder()
+        .errorMode(readFlag(context, FrameworkProperty.ERROR_MODE))
+        .debugMode(readFlag(context, FrameworkProperty.DEBUG_MODE))
+        .verboseMode(readFlag(context, FrameworkProperty.VERBOSE_MODE))
+        .timeLimit(context
+            .getConfigurationParameter(FrameworkProperty.TIME_LIMIT, Long::parseLong)
+            .map(Duration::ofMillis)
+            .orElse(DEFAULT_TIME_LIMIT))
+        .captureLimit(context
+            .getConfigurationParameter(FrameworkProperty.CAPTURE_LIMIT, Integer::parseInt)
+            .orElse(DEFAULT_CAPTURE_LIMIT))
+        .resultFile(context
+            .getConfigurationParameter(FrameworkProperty.RESULT_FILE, Path::of)
+            .orElse(null))
+        .build();
+  }
+
+  public boolean isErrorMode() {
+    return errorMode;
+  }
+
+  public boolean isDebugMode() {
+    return debugMode;
+  }
+
+  public boolean isVerboseMode() {
+    return verboseMode;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public Duration getTimeLimit() {
+    return timeLimit;
+  }
+
+  public int getCaptureLimit() {
+    return captureLimit;
+  }
+
+  public Optional<Path> getResultFile() {
+    return Optional.ofNullable(resultFile);
+  }
+
+  /**
+   * Provides JUnit configuration parameters which describe this configuration.
+   *
+   * @return configuration parameters
+   */
+  public Map<String, String> toParameters() {
+    final var result = new HashMap<String, String>();
+    result.put(FrameworkProperty.ERROR_MODE, String.valueOf(errorMode));
+    result.put(FrameworkProperty.DEBUG_MODE, String.valueOf(debugMode));
+    result.put(FrameworkProperty.VERBOSE_MODE, String.valueOf(verboseMode));
+    // the parameter is in milliseconds, rounding up keeps a limit under 1 ms positive
+    final var millis = timeLimit.plusNanos(999_999).toMillis();
+    result.put(FrameworkProperty.TIME_LIMIT, String.valueOf(millis));
+    result.put(FrameworkProperty.CAPTURE_LIMIT, String.valueOf(captureLimit));
+    if (resultFile != null) {
+      result.put(FrameworkProperty.RESULT_FILE, resultFile.toString());
+    }
+    return Map.copyOf(result);
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", "[", "]")
+        .add(String.format("error - %b", errorMode))
+        .add(String.format("debug - %b", debugMode))
+        .add(String.format("verbose - %b", verboseMode))
+        .add(String.format("parallelism - %d", parallelism))
+        .add(String.format("time limit - %d ms", timeLimit.toMillis()))
+        .add(String.format("capture limit - %d bytes", captureLimit))
+        .add(String.format("result file - %s", resultFile))
+        .toString();
+  }
+
+  private static boolean readFlag(final ExtensionContext context, final String key) {
+    return context.getConfigurationParameter(key).map(Boolean::parseBoolean).orElse(false);
+  }
+
+  public static class Builder {
+
+    private boolean errorMode;
+    private boolean debugMode;
+    private boolean verboseMode;
+    private int parallelism;
+    private Duration timeLimit;
+    private int captureLimit;
+    private Path resultFile;
+
+    private Builder() {
+      parallelism = 1;
+      timeLimit = DEFAULT_TIME_LIMIT;
+      captureLimit = DEFAULT_CAPTURE_LIMIT;
+    }
+
+    public Builder errorMode(boolean enabled) {
+      errorMode = enabled;
+      return this;
+    }
+
+    public Builder debugMode(boolean enabled) {
+      debugMode = enabled;
+      return this;
+    }
+
+    public Builder verboseMode(boolean enabled) {
+      verboseMode = enabled;
+      return this;
+    }
+
+    /**
+     * Sets maximum number of containers which are executed at the same time. Containers are
+     * executed one by one if the number is less than 2.
+     *
+     * @param containers number of containers
+     * @return this builder
+     */
+    public Builder parallelism(int containers) {
+      parallelism = Math.max(1, containers);
+      return this;
+    }
+
+    /**
+     * Sets time limit of tests which do not have their own {@link TimeLimit}.
+     *
+     * @param limit maximum execution time of each test, should be positive
+     * @return this builder
+     */
+    public Builder timeLimit(Duration limit) {
+      if (limit.isNegative() || limit.isZero()) {
+        throw new IllegalArgumentException("Time limit should be positive");
+      }
+      timeLimit = limit;
+      return this;
+    }
+
+    /**
+     * Sets number of bytes of output of each test which are passed to the report in debug mode.
+     * The head and the tail of longer output are passed, the middle is dropped and counted.
+     *
+     * @param bytes number of bytes, should not be negative
+     * @return this builder
+     */
+    public Builder captureLimit(int bytes) {
+      if (bytes < 0) {
+        throw new IllegalArgumentException("Capture limit should not be negative");
+      }
+      captureLimit = bytes;
+      return this;
+    }
+
+    /**
+     * Sets a file which gets results of all tests in addition to the console. Results are appended
+     * to the file, see {@link ResultSink#open(Path)} for supported formats.
+     *
+     * @param file path of the file or null to write results to the console only
+     * @return this builder
+     */
+    public Builder resultFile(Path file) {
+      resultFile = file;
+      return this;
+    }
+
+    public RunConfiguration build() {
+      return new RunConfiguration(this);
+    }
+  }
+}
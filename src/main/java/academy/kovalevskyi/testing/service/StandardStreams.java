@@ -0,0 +1,256 @@
+package academy.kovalevskyi.testing.service;
+
+import academy.kovalevskyi.testing.util.AnsiConsoleInstaller;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shares {@link RoutingPrintStream} instances as {@link System#out} and {@link System#err}
+ * between containers which are executed at the same time. Streams are installed by the first
+ * container and restored by the last one, each thread of a test is bound to output of the test.
+ * Threads which are not bound, e.g. threads of the common pool, write to output of the only
+ * attached test or to the sink of a running container, so they never reach the console.
+ */
+final class StandardStreams {
+
+  private static final List<PrintStream> SINKS = new ArrayList<>();
+  private static final List<PrintStream> TESTS = new ArrayList<>();
+  private static int users;
+  private static PrintStream defaultOut;
+  private static PrintStream defaultErr;
+  private static volatile PrintStream installedOut;
+  private static volatile PrintStream installedErr;
+
+  private StandardStreams() {
+  }
+
+  /**
+   * Installs routing streams unless they are installed already.
+   *
+   * @param sink stream for output of unbound threads while the container runs
+   */
+  static synchronized void install(final PrintStream sink) {
+    SINKS.add(sink);
+    if (users++ > 0) {
+      updateFallback();
+      return;
+    }
+    defaultOut = System.out;
+    defaultErr = System.err;
+    AnsiConsoleInstaller.INSTANCE.systemInstall();
+    installedOut = defaultOut instanceof RoutingPrintStream
+        ? defaultOut
+        : new RoutingPrintStream(defaultOut);
+    installedErr = defaultErr instanceof RoutingPrintStream
+        ? defaultErr
+        : new RoutingPrintStream(defaultErr);
+    System.setOut(installedOut);
+    System.setErr(installedErr);
+    updateFallback();
+  }
+
+  /**
+   * Restores streams which were installed before {@link #install(PrintStream)} if no other
+   * container uses routing streams.
+   *
+   * @param sink stream which was passed to {@link #install(PrintStream)}
+   */
+  static synchronized void uninstall(final PrintStream sink) {
+    SINKS.remove(sink);
+    if (users == 0 || --users > 0) {
+      updateFallback();
+      return;
+    }
+    TESTS.clear();
+    ((RoutingPrintStream) installedOut).fallback(null);
+    ((RoutingPrintStream) installedErr).fallback(null);
+    System.out.flush();
+    System.err.flush();
+    AnsiConsoleInstaller.INSTANCE.systemUninstall();
+    System.setOut(defaultOut);
+    System.setErr(defaultErr);
+    defaultOut = null;
+    defaultErr = null;
+    installedOut = null;
+    installedErr = null;
+  }
+
+  /**
+   * Routes output of unbound threads to output of the test while it is the only attached test.
+   *
+   * @param output output of a running test
+   */
+  static synchronized void attach(final PrintStream output) {
+    TESTS.add(output);
+    updateFallback();
+  }
+
+  /**
+   * Stops routing output of unbound threads to output of the test.
+   *
+   * @param output output which was passed to {@link #attach(PrintStream)}
+   */
+  static synchronized void detach(final PrintStream output) {
+    TESTS.remove(output);
+    updateFallback();
+  }
+
+  private static void updateFallback() {
+    if (installedOut == null) {
+      return;
+    }
+    var fallback = TESTS.size() == 1 ? TESTS.get(0) : null;
+    if (fallback == null && !SINKS.isEmpty()) {
+      fallback = SINKS.get(0);
+    }
+    ((RoutingPrintStream) installedOut).fallback(fallback);
+    ((RoutingPrintStream) installedErr).fallback(fallback);
+  }
+
+  /**
+   * Binds the current thread and threads which will be started by it to the stream. Nothing is
+   * bound if routing streams are replaced by somebody else.
+   *
+   * @param stream stream for output and errors of the current thread
+   * @return binding which restores previous streams of the current thread when it is closed
+   */
+  static Binding bind(final PrintStream stream) {
+    final var out = System.out;
+    final var err = System.err;
+    return new Route(
+        out == installedOut ? (RoutingPrintStream) out : null,
+        stream,
+        err == installedErr ? (RoutingPrintStream) err : null,
+        stream,
+        null,
+        null).bind();
+  }
+
+  /**
+   * Prepares routes of the current thread for another thread. Installed streams are routed to the
+   * stream, other routing streams which replaced them, e.g. by {@link AbstractStdCaptor}, keep
+   * the stream which is bound to the current thread. The same applies to {@link System#in} if it
+   * is a {@link RoutingInputStream}.
+   *
+   * @param stream stream for output and errors of a test
+   * @return routes which are bound by the thread of the test
+   */
+  static Route route(final PrintStream stream) {
+    final var out = System.out;
+    final var err = System.err;
+    final var in = System.in instanceof RoutingInputStream routingStream ? routingStream : null;
+    return new Route(
+        out instanceof RoutingPrintStream routingStream ? routingStream : null,
+        out == installedOut ? stream : RoutingPrintStream.resolve(out),
+        err instanceof RoutingPrintStream routingStream ? routingStream : null,
+        err == installedErr ? stream : RoutingPrintStream.resolve(err),
+        in,
+        in != null ? in.current() : null);
+  }
+
+  /**
+   * Prepares routes of the current thread for the thread which waits for it. Routing streams which
+   * replaced installed streams keep the streams which are bound by the current thread, e.g. by a
+   * method annotated with {@link org.junit.jupiter.api.BeforeEach} of {@link AbstractStdCaptor},
+   * installed streams are not routed.
+   *
+   * @return routes which are bound by the waiting thread
+   */
+  static Route routeBack() {
+    final var out = System.out;
+    final var err = System.err;
+    final var in = System.in instanceof RoutingInputStream routingStream ? routingStream : null;
+    final var routedOut = out != installedOut && out instanceof RoutingPrintStream routingStream
+        ? routingStream
+        : null;
+    final var routedErr = err != installedErr && err instanceof RoutingPrintStream routingStream
+        ? routingStream
+        : null;
+    return new Route(
+        routedOut,
+        routedOut != null ? routedOut.current() : null,
+        routedErr,
+        routedErr != null ? routedErr.current() : null,
+        in,
+        in != null ? in.current() : null);
+  }
+
+  /**
+   * Streams which should be bound to a thread.
+   */
+  static final class Route {
+
+    private final RoutingPrintStream out;
+    private final PrintStream outTarget;
+    private final RoutingPrintStream err;
+    private final PrintStream errTarget;
+    private final RoutingInputStream in;
+    private final InputStream inTarget;
+
+    private Route(
+        final RoutingPrintStream out,
+        final PrintStream outTarget,
+        final RoutingPrintStream err,
+        final PrintStream errTarget,
+        final RoutingInputStream in,
+        final InputStream inTarget) {
+      this.out = out;
+      this.outTarget = outTarget;
+      this.err = err;
+      this.errTarget = errTarget;
+      this.in = in;
+      this.inTarget = inTarget;
+    }
+
+    /**
+     * Binds the current thread and threads which will be started by it.
+     *
+     * @return binding which restores previous streams of the current thread when it is closed
+     */
+    Binding bind() {
+      return new Binding(this);
+    }
+  }
+
+  /**
+   * Streams which were bound to the current thread before {@link Route#bind()}.
+   */
+  static final class Binding implements AutoCloseable {
+
+    private final Route route;
+    private final PrintStream previousOut;
+    private final PrintStream previousErr;
+    private final InputStream previousIn;
+
+    private Binding(final Route route) {
+      this.route = route;
+      previousOut = route.out != null ? route.out.bound() : null;
+      previousErr = route.err != null ? route.err.bound() : null;
+      previousIn = route.in != null ? route.in.bound() : null;
+      if (route.out != null) {
+        route.out.bind(route.outTarget);
+      }
+      if (route.err != null) {
+        route.err.bind(route.errTarget);
+      }
+      if (route.in != null) {
+        route.in.bind(route.inTarget);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (route.out != null) {
+        route.out.bind(previousOut);
+      }
+      if (route.err != null) {
+        route.err.bind(previousErr);
+      }
+      if (route.in != null) {
+        route.in.bind(previousIn);
+      }
+    }
+  }
+}
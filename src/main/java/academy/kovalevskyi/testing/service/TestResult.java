@@ -0,0 +1,21 @@
+package academy.kovalevskyi.testing.service;
+
+/**
+ * Result of one test.
+ *
+ * @param container  binary name of the test class
+ * @param method     name of the test method
+ * @param repetition index of invocation of a repeated or parameterized test, 0 for other tests
+ * @param state      final state of the test
+ * @param duration   time of the test in nanoseconds, 0 if the test is disabled
+ * @param cause      truncated message of the cause of failure or null if the test is successful
+ */
+public record TestResult(
+    String container,
+    String method,
+    int repetition,
+    State state,
+    long duration,
+    String cause) {
+
+}
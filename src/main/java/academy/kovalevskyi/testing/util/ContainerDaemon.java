@@ -0,0 +1,353 @@
+package academy.kovalevskyi.testing.util;
+
+import academy.kovalevskyi.testing.exception.FrameworkException;
+import academy.kovalevskyi.testing.exception.RequestException;
+import academy.kovalevskyi.testing.service.ContainerRequest;
+import academy.kovalevskyi.testing.service.FrameworkProperty;
+import academy.kovalevskyi.testing.service.RoutingPrintStream;
+import academy.kovalevskyi.testing.service.RunConfiguration;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one JVM warm between launches of test containers. The daemon listens to a Unix domain
+ * socket and accepts one request per connection. The request consists of {@code name=value} lines
+ * and ends with an empty line:
+ * <pre>
+ * course=C3PO
+ * week=1
+ * day=2
+ * id=0
+ * error=false
+ * debug=false
+ * verbose=false
+ * classpath=/path/to/submission.jar
+ * </pre>
+ * Only the course key is required. The classpath is separated with {@link File#pathSeparator}
+ * and is loaded by a class loader of its own, see {@link SubmissionLoaders}. Course classes from
+ * {@link FrameworkProperty#COURSE_CLASSPATH} are linked with classes of each submission. The
+ * console report is streamed back to the connection, which is closed when containers are
+ * finished.
+ *
+ * <p>Any client of the socket can make the daemon run its code, so on POSIX file systems the socket
+ * is bound in a directory which only the owner can access and is readable and writable only by the
+ * owner before it is moved to its path. A request should be sent within {@link #REQUEST_TIMEOUT}
+ * and should not be longer than {@link #REQUEST_LIMIT} bytes, otherwise the connection is closed,
+ * so clients which never finish their requests do not hold workers.
+ */
+public final class ContainerDaemon implements Closeable {
+
+  /**
+   * Time in which a client should send its request.
+   */
+  public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+  /**
+   * Maximum number of bytes of a request.
+   */
+  public static final int REQUEST_LIMIT = 1 << 16;
+  private static final int LOADERS = 16;
+  private final Path socket;
+  private final Duration requestTimeout;
+  private final ServerSocketChannel server;
+  private final ExecutorService executor;
+  private final ScheduledExecutorService timer;
+  private final SubmissionLoaders loaders;
+
+  /**
+   * Binds the daemon to a socket file.
+   *
+   * @param socket  path of the socket file, an existing file is replaced
+   * @param workers maximum number of requests which are executed at the same time
+   * @throws IOException if the socket can not be bound
+   */
+  public ContainerDaemon(final Path socket, final int workers) throws IOException {
+    this(socket, workers, REQUEST_TIMEOUT);
+  }
+
+  ContainerDaemon(final Path socket, final int workers, final Duration requestTimeout)
+      throws IOException {
+    this.socket = socket;
+    this.requestTimeout = requestTimeout;
+    this.loaders = new SubmissionLoaders(
+        ContainerDaemon.class.getClassLoader(),
+        readClasspath(System.getProperty(FrameworkProperty.COURSE_CLASSPATH, "")),
+        LOADERS);
+    Files.deleteIfExists(socket);
+    this.server = bind(socket);
+    this.executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+      final var thread = new Thread(runnable, "container-daemon");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final var thread = new Thread(runnable, "container-daemon-timer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts the daemon. Expects path of the socket file and optional number of workers.
+   *
+   * @param args command line arguments
+   * @throws IOException if the socket can not be bound
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: ContainerDaemon <socket> [workers]");
+      return;
+    }
+    final var workers = args.length > 1
+        ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    try (var daemon = new ContainerDaemon(Path.of(args[0]), workers)) {
+      daemon.run();
+    }
+  }
+
+  /**
+   * Accepts requests until the daemon is closed. Standard streams are routed to connections of
+   * requests while the daemon is running.
+   *
+   * @throws IOException if the socket fails
+   */
+  public void run() throws IOException {
+    final var defaultOut = System.out;
+    final var defaultErr = System.err;
+    final var routedOut = new RoutingPrintStream(defaultOut);
+    final var routedErr = new RoutingPrintStream(defaultErr);
+    // keeps ANSI console installed, so containers do not replace routed streams by their own
+    AnsiConsoleInstaller.INSTANCE.systemInstall();
+    System.setOut(routedOut);
+    System.setErr(routedErr);
+    try {
+      while (server.isOpen()) {
+        final SocketChannel connection;
+        try {
+          connection = server.accept();
+        } catch (ClosedChannelException e) {
+          break;
+        }
+        executor.execute(() -> serve(connection, routedOut, routedErr));
+      }
+    } finally {
+      executor.shutdownNow();
+      timer.shutdownNow();
+      AnsiConsoleInstaller.INSTANCE.systemUninstall();
+      System.setOut(defaultOut);
+      System.setErr(defaultErr);
+    }
+  }
+
+  /**
+   * Stops accepting requests and removes the socket file. Requests which are in progress are
+   * interrupted.
+   *
+   * @throws IOException if the socket can not be closed
+   */
+  @Override
+  public void close() throws IOException {
+    server.close();
+    executor.shutdownNow();
+    timer.shutdownNow();
+    loaders.close();
+    Files.deleteIfExists(socket);
+  }
+
+  private static ServerSocketChannel bind(final Path socket) throws IOException {
+    final var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    try {
+      final var parent = socket.toAbsolutePath().getParent();
+      if (!parent.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+        server.bind(UnixDomainSocketAddress.of(socket));
+        return server;
+      }
+      // nobody connects before permissions are restricted, the socket is moved with its inode
+      final var directory = Files.createTempDirectory(
+          parent,
+          ".daemon",
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      try {
+        final var bound = directory.resolve("sock");
+        server.bind(UnixDomainSocketAddress.of(bound));
+        Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+        Files.move(bound, socket, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(directory.resolve("sock"));
+        Files.deleteIfExists(directory);
+      }
+      return server;
+    } catch (IOException | RuntimeException e) {
+      server.close();
+      throw e;
+    }
+  }
+
+  private void serve(
+      final SocketChannel connection,
+      final RoutingPrintStream routedOut,
+      final RoutingPrintStream routedErr) {
+    try (connection) {
+      final var report = new PrintStream(
+          Channels.newOutputStream(connection), true, StandardCharsets.UTF_8);
+      final var reader = new BufferedReader(new InputStreamReader(
+          new LimitedInputStream(Channels.newInputStream(connection), REQUEST_LIMIT),
+          StandardCharsets.UTF_8));
+      routedOut.bind(report);
+      routedErr.bind(report);
+      try {
+        // closing the connection interrupts a blocked read of a request which is not finished
+        final var deadline = timer.schedule(
+            () -> {
+              connection.close();
+              return null;
+            },
+            requestTimeout.toNanos(),
+            TimeUnit.NANOSECONDS);
+        final Map<String, String> fields;
+        try {
+          fields = readFields(reader);
+        } finally {
+          deadline.cancel(false);
+        }
+        execute(fields);
+      } catch (FrameworkException e) {
+        report.println(e.getMessage());
+      } catch (IOException | RuntimeException | LinkageError | AssertionError e) {
+        // other errors of the JVM are not recoverable, the daemon should not hide them
+        report.println(describe(e));
+      } finally {
+        routedOut.unbind();
+        routedErr.unbind();
+      }
+    } catch (IOException e) {
+      // the client has gone, there is nobody to report to
+    }
+  }
+
+  private void execute(final Map<String, String> fields) throws IOException {
+    final var containerRequest = ContainerRequest.builder().course(fields.get("course"));
+    if (fields.containsKey("week")) {
+      containerRequest.week(readNumber(fields, "week"));
+    }
+    if (fields.containsKey("day")) {
+      containerRequest.day(readNumber(fields, "day"));
+    }
+    if (fields.containsKey("id")) {
+      containerRequest.container(readNumber(fields, "id"));
+    }
+    final var configuration = RunConfiguration
+        .builder()
+        .errorMode(Boolean.parseBoolean(fields.get("error")))
+        .debugMode(Boolean.parseBoolean(fields.get("debug")))
+        .verboseMode(Boolean.parseBoolean(fields.get("verbose")))
+        .build();
+    final var request = containerRequest.build();
+
+    try (var lease = loaders.acquire(readClasspath(fields.getOrDefault("classpath", "")))) {
+      ContainerLauncher.execute(request, configuration, lease.getLoader());
+    }
+  }
+
+  private static String describe(final Throwable error) {
+    return String.format("Request is failed: %s", error)
+        .lines()
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static Map<String, String> readFields(final BufferedReader reader) throws IOException {
+    final var result = new HashMap<String, String>();
+    for (var line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+      final var separator = line.indexOf('=');
+      if (separator <= 0) {
+        throw new RequestException(String.format("Malformed line of request '%s'", line));
+      }
+      result.put(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+    }
+    return result;
+  }
+
+  /**
+   * Stream which fails when more than some number of bytes is read.
+   */
+  private static class LimitedInputStream extends FilterInputStream {
+
+    private final int limit;
+    private int count;
+
+    private LimitedInputStream(final InputStream stream, final int limit) {
+      super(stream);
+      this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var result = super.read();
+      if (result >= 0) {
+        count(1);
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final var result = super.read(b, off, len);
+      if (result > 0) {
+        count(result);
+      }
+      return result;
+    }
+
+    private void count(final int bytes) {
+      count += bytes;
+      if (count > limit) {
+        throw new RequestException(String.format("Request is longer than %d bytes", limit));
+      }
+    }
+  }
+
+  private static int readNumber(final Map<String, String> fields, final String name) {
+    try {
+      return Integer.parseInt(fields.get(name));
+    } catch (NumberFormatException e) {
+      throw new RequestException(String.format("%s should be a number", name));
+    }
+  }
+
+  private static List<Path> readClasspath(final String classpath) {
+    final var result = new ArrayList<Path>();
+    for (var entry : classpath.split(File.pathSeparator)) {
+      if (!entry.isBlank()) {
+        result.add(Path.of(entry.strip()));
+      }
+    }
+    return result;
+  }
+}
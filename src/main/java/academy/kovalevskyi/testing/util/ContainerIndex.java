@@ -0,0 +1,250 @@
+package academy.kovalevskyi.testing.util;
+
+import academy.kovalevskyi.testing.service.ContainerDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.reflections.util.ClasspathHelper;
+
+/**
+ * Persistent index of test containers. Lets to skip the classpath scanning while jar files and
+ * class directories which are scanned for containers stay the same.
+ */
+final class ContainerIndex {
+
+  private static final String SEPARATOR = "\t";
+  private final Path file;
+  private final List<Path> roots;
+
+  /**
+   * Prepares an index of containers from some packages.
+   *
+   * @param directory directory which keeps index files
+   * @param packages  package prefixes
+   */
+  ContainerIndex(final Path directory, final String... packages) {
+    this(directory, findRoots(packages), packages);
+  }
+
+  /**
+   * Prepares an index of containers of some packages from some jar files and class directories.
+   *
+   * @param directory directory which keeps index files
+   * @param roots     jar files and class directories which are scanned
+   * @param packages  package prefixes
+   */
+  ContainerIndex(final Path directory, final Collection<URL> roots, final String... packages) {
+    final var prefixes = packages.length == 0 ? new String[]{""} : packages.clone();
+    Arrays.sort(prefixes);
+    final var urls = roots.stream()
+        .map(URL::toExternalForm)
+        .distinct()
+        .sorted()
+        .collect(Collectors.toUnmodifiableList());
+    final var name = new StringJoiner(SEPARATOR);
+    Arrays.stream(prefixes).forEach(name::add);
+    urls.forEach(name::add);
+    this.file = directory.resolve(String.format(
+        "containers-%s.idx",
+        UUID.nameUUIDFromBytes(name.toString().getBytes(StandardCharsets.UTF_8))));
+    final var paths = urls.stream()
+        .map(ContainerIndex::toPath)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toUnmodifiableList());
+    // index is not verifiable if some location is not a local file
+    this.roots = paths.size() == urls.size() ? paths : List.of();
+  }
+
+  /**
+   * Loads containers from the index if the index is actual. Contents of jar files are hashed only
+   * if their sizes or modification times are changed since the index was stored.
+   *
+   * @param loader class loader of containers
+   * @return an Optional of containers or an empty Optional if the index is absent or outdated
+   */
+  Optional<Collection<ContainerDescriptor>> load(final ClassLoader loader) {
+    if (roots.isEmpty() || !Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      final var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+      if (lines.isEmpty() || !isActual(lines)) {
+        return Optional.empty();
+      }
+      final var result = new ArrayList<ContainerDescriptor>(lines.size() - 1);
+      for (var line : lines.subList(1, lines.size())) {
+        final var values = line.split(SEPARATOR);
+        result.add(new ContainerDescriptor(
+            Class.forName(values[0], false, loader),
+            values[1],
+            Integer.parseInt(values[2]),
+            Integer.parseInt(values[3]),
+            Integer.parseInt(values[4])));
+      }
+      return Optional.of(result);
+    } catch (IOException | RuntimeException | ClassNotFoundException | LinkageError e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Rewrites the index. Any IO problems are ignored, the index is only an optimization.
+   *
+   * @param containers descriptors of test classes
+   */
+  void store(final Collection<ContainerDescriptor> containers) {
+    if (roots.isEmpty()) {
+      return;
+    }
+    try {
+      final var lines = new ArrayList<String>(containers.size() + 1);
+      lines.add(header(stamp(roots), fingerprint(roots)));
+      for (var container : containers) {
+        lines.add(new StringJoiner(SEPARATOR)
+            .add(container.name())
+            .add(container.key())
+            .add(String.valueOf(container.week()))
+            .add(String.valueOf(container.day()))
+            .add(String.valueOf(container.id()))
+            .toString());
+      }
+      write(lines);
+    } catch (IOException | RuntimeException e) {
+      // it is ok to proceed without index
+    }
+  }
+
+  private boolean isActual(final List<String> lines) throws IOException {
+    final var header = lines.get(0).split(SEPARATOR);
+    if (header.length != 2) {
+      return false;
+    }
+    final var stamp = stamp(roots);
+    if (header[0].equals(stamp)) {
+      return true;
+    }
+    final var fingerprint = fingerprint(roots);
+    if (!header[1].equals(fingerprint)) {
+      return false;
+    }
+    // files are touched without changes, so the new stamp lets to skip hashing next time
+    try {
+      lines.set(0, header(stamp, fingerprint));
+      write(lines);
+    } catch (IOException | RuntimeException e) {
+      // the index is still actual
+    }
+    return true;
+  }
+
+  private void write(final List<String> lines) throws IOException {
+    Files.createDirectories(file.getParent());
+    final var temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), null);
+    Files.write(temp, lines, StandardCharsets.UTF_8);
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static String header(final String stamp, final String fingerprint) {
+    return stamp + SEPARATOR + fingerprint;
+  }
+
+  /**
+   * Computes a cheap checksum of jar files and class directories. The checksum depends only on
+   * names, sizes and modification times of files, so it may change while contents stay the same.
+   *
+   * @param roots jar files and class directories
+   * @return the checksum
+   * @throws IOException if some file can not be read
+   */
+  static String stamp(final Collection<Path> roots) throws IOException {
+    return checksum(roots, false);
+  }
+
+  /**
+   * Computes a checksum of contents of jar files and of class directories. The checksum of a
+   * directory depends on names, sizes and modification times of its files, like its
+   * {@link #stamp(Collection)}.
+   *
+   * @param roots jar files and class directories
+   * @return the checksum
+   * @throws IOException if some file can not be read
+   */
+  static String fingerprint(final Collection<Path> roots) throws IOException {
+    return checksum(roots, true);
+  }
+
+  private static String checksum(
+      final Collection<Path> roots,
+      final boolean contents) throws IOException {
+    final var checksum = new CRC32C();
+    final var buffer = ByteBuffer.allocate(Long.BYTES * 2);
+    for (var root : roots) {
+      checksum.update(root.toString().getBytes(StandardCharsets.UTF_8));
+      if (Files.isDirectory(root)) {
+        try (Stream<Path> files = Files.walk(root)) {
+          for (var entry : files.filter(Files::isRegularFile).sorted().toArray(Path[]::new)) {
+            checksum.update(root.relativize(entry).toString().getBytes(StandardCharsets.UTF_8));
+            checksum.update(attributes(buffer, entry));
+          }
+        }
+      } else if (Files.isRegularFile(root) && contents) {
+        try (InputStream stream = Files.newInputStream(root)) {
+          final var bytes = new byte[64 * 1024];
+          for (var count = stream.read(bytes); count != -1; count = stream.read(bytes)) {
+            checksum.update(bytes, 0, count);
+          }
+        }
+      } else if (Files.isRegularFile(root)) {
+        checksum.update(attributes(buffer, root));
+      }
+    }
+    return Long.toHexString(checksum.getValue());
+  }
+
+  private static ByteBuffer attributes(
+      final ByteBuffer buffer,
+      final Path file) throws IOException {
+    return buffer.clear()
+        .putLong(Files.size(file))
+        .putLong(Files.getLastModifiedTime(file).toMillis())
+        .flip();
+  }
+
+  private static Collection<URL> findRoots(final String... packages) {
+    return Arrays.stream(packages.length == 0 ? new String[]{""} : packages)
+        .map(ClasspathHelper::forPackage)
+        .flatMap(Collection::stream)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private static Optional<Path> toPath(final String url) {
+    try {
+      var location = url;
+      if (location.startsWith("jar:")) {
+        location = location.substring("jar:".length(), location.lastIndexOf("!/"));
+      }
+      if (!location.startsWith("file:")) {
+        return Optional.empty();
+      }
+      return Optional.of(Path.of(new URL(location).toURI()));
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+}
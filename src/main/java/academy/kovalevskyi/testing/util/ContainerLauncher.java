@@ -5,18 +5,30 @@ import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
 import academy.kovalevskyi.testing.annotation.Container;
 import academy.kovalevskyi.testing.exception.ContainerNotFoundException;
 import academy.kovalevskyi.testing.exception.NotAnnotatedContainerException;
+import academy.kovalevskyi.testing.service.BaseComparator;
 import academy.kovalevskyi.testing.service.ContainerHandler;
-import academy.kovalevskyi.testing.service.FrameworkProperty;
+import academy.kovalevskyi.testing.service.Request;
+import academy.kovalevskyi.testing.service.RoutingPrintStream;
+import academy.kovalevskyi.testing.service.RunConfiguration;
 import academy.kovalevskyi.testing.service.State;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.fusesource.jansi.Ansi;
 import org.fusesource.jansi.AnsiConsole;
 import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestPlan;
 import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
 import org.junit.platform.launcher.core.LauncherFactory;
 
 /**
- * Launches test containers.
+ * Launches test containers. All launches share one JUnit launcher.
  */
 public final class ContainerLauncher {
 
@@ -33,13 +45,73 @@ public final class ContainerLauncher {
       final boolean errorMode,
       final boolean debugMode,
       final boolean verboseMode) {
+    execute(containers, configure(errorMode, debugMode, verboseMode).build());
+  }
+
+  /**
+   * Launches test containers programmatically with JUnit engine on a pool of worker threads.
+   *
+   * @param containers  list of test classes
+   * @param errorMode   enable/disable error mode
+   * @param debugMode   enable/disable debug mode
+   * @param verboseMode enable/disable verbose mode
+   * @param parallelism maximum number of containers which are executed at the same time
+   * @see #execute(List, RunConfiguration)
+   */
+  public static void execute(
+      final List<Class<?>> containers,
+      final boolean errorMode,
+      final boolean debugMode,
+      final boolean verboseMode,
+      final int parallelism) {
+    execute(
+        containers,
+        configure(errorMode, debugMode, verboseMode).parallelism(parallelism).build());
+  }
+
+  /**
+   * Launches test containers programmatically with JUnit engine. If parallelism of the
+   * configuration is greater than 1, containers are executed on a pool of worker threads. Reports
+   * of containers are buffered and printed in order of {@link BaseComparator} as soon as all
+   * previous reports are printed, so the output does not depend on the order of execution.
+   *
+   * @param containers    list of test classes
+   * @param configuration configuration of the launch
+   */
+  public static void execute(
+      final List<Class<?>> containers,
+      final RunConfiguration configuration) {
     if (containers.isEmpty()) {
       throw new ContainerNotFoundException("No containers to execute");
     }
+    if (configuration.getParallelism() > 1 && containers.size() > 1) {
+      executeInParallel(containers, configuration);
+      return;
+    }
+    containers.forEach(ContainerLauncher::checkContainer);
+
+    final var request = LauncherDiscoveryRequestBuilder
+        .request()
+        .selectors(containers.stream().map(DiscoverySelectors::selectClass).toList())
+        .configurationParameters(configuration.toParameters())
+        .build();
 
-    for (var container : containers) {
-      execute(container, errorMode, debugMode, verboseMode);
+    final TestPlan plan;
+    try {
+      plan = LauncherHolder.LAUNCHER.discover(request);
+    } catch (JUnitException exception) {
+      if (ContainerHandler
+          .getExceptionFromThrowableChain(exception, NoClassDefFoundError.class)
+          .isEmpty()) {
+        throw exception;
+      }
+      // some container can not be discovered, so each container reports on its own
+      for (var container : containers) {
+        execute(container, configuration);
+      }
+      return;
     }
+    launch(() -> LauncherHolder.LAUNCHER.execute(plan));
   }
 
   /**
@@ -55,21 +127,130 @@ public final class ContainerLauncher {
       final boolean errorMode,
       final boolean debugMode,
       final boolean verboseMode) {
-    if (!container.isAnnotationPresent(Container.class)) {
-      throw new NotAnnotatedContainerException(
-          String.format("Unsupported class %s", container.getName()));
-    }
+    execute(container, configure(errorMode, debugMode, verboseMode).build());
+  }
+
+  /**
+   * Launches test container programmatically with JUnit engine.
+   *
+   * @param container     test class
+   * @param configuration configuration of the launch
+   */
+  public static void execute(final Class<?> container, final RunConfiguration configuration) {
+    checkContainer(container);
 
-    System.setProperty(FrameworkProperty.ERROR_MODE, String.valueOf(errorMode));
-    System.setProperty(FrameworkProperty.DEBUG_MODE, String.valueOf(debugMode));
-    System.setProperty(FrameworkProperty.VERBOSE_MODE, String.valueOf(verboseMode));
     final var request = LauncherDiscoveryRequestBuilder
         .request()
         .selectors(selectClass(container))
+        .configurationParameters(configuration.toParameters())
         .build();
 
+    launch(() -> LauncherHolder.LAUNCHER.execute(request));
+  }
+
+  /**
+   * Finds containers by request among classes of the class loader and launches them
+   * programmatically with JUnit engine. The loader is the context class loader of the current
+   * thread until containers are finished.
+   *
+   * @param request       combined request of containers
+   * @param configuration configuration of the launch
+   * @param loader        class loader of containers, e.g. a loader of some submission
+   * @throws ContainerNotFoundException if containers are absent
+   * @see SubmissionLoaders
+   */
+  public static void execute(
+      final Request request,
+      final RunConfiguration configuration,
+      final ClassLoader loader) {
+    final var thread = Thread.currentThread();
+    final var defaultLoader = thread.getContextClassLoader();
+    thread.setContextClassLoader(loader);
+    try {
+      execute(ContainerManager.getContainers(request), configuration);
+    } finally {
+      thread.setContextClassLoader(defaultLoader);
+    }
+  }
+
+  private static void executeInParallel(
+      final List<Class<?>> containers,
+      final RunConfiguration configuration) {
+    final var ordered = containers.stream().sorted(new BaseComparator()).toList();
+    final var defaultOut = System.out;
+    final var defaultErr = System.err;
+    final var routedOut = new RoutingPrintStream(defaultOut);
+    final var routedErr = new RoutingPrintStream(defaultErr);
+    final var executor = Executors.newFixedThreadPool(
+        Math.min(configuration.getParallelism(), ordered.size()),
+        runnable -> {
+          final var thread = new Thread(runnable, "container-launcher");
+          thread.setDaemon(true);
+          return thread;
+        });
+    // keeps ANSI console installed, so containers do not replace routed streams by their own
+    AnsiConsoleInstaller.INSTANCE.systemInstall();
+    System.setOut(routedOut);
+    System.setErr(routedErr);
+    try {
+      final var reports = new ArrayList<Future<byte[]>>(ordered.size());
+      for (var container : ordered) {
+        reports.add(executor.submit(() -> {
+          final var buffer = new ByteArrayOutputStream();
+          final var report = new PrintStream(buffer, true);
+          routedOut.bind(report);
+          routedErr.bind(report);
+          try {
+            execute(container, configuration);
+          } finally {
+            routedOut.unbind();
+            routedErr.unbind();
+          }
+          return buffer.toByteArray();
+        }));
+      }
+      for (var report : reports) {
+        defaultOut.writeBytes(report.get());
+        defaultOut.flush();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException exception) {
+        throw exception;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+      AnsiConsoleInstaller.INSTANCE.systemUninstall();
+      System.setOut(defaultOut);
+      System.setErr(defaultErr);
+    }
+  }
+
+  private static void checkContainer(final Class<?> container) {
+    if (!container.isAnnotationPresent(Container.class)) {
+      throw new NotAnnotatedContainerException(
+          String.format("Unsupported class %s", container.getName()));
+    }
+  }
+
+  private static RunConfiguration.Builder configure(
+      final boolean errorMode,
+      final boolean debugMode,
+      final boolean verboseMode) {
+    return RunConfiguration.builder()
+        .errorMode(errorMode)
+        .debugMode(debugMode)
+        .verboseMode(verboseMode);
+  }
+
+  private static void launch(final Runnable launch) {
     try {
-      LauncherFactory.create().execute(request);
+      launch.run();
     } catch (JUnitException exception) {
       final var noClassException =
           ContainerHandler.getExceptionFromThrowableChain(exception, NoClassDefFoundError.class);
@@ -89,4 +270,12 @@ public final class ContainerLauncher {
       }
     }
   }
+
+  /**
+   * Keeps one launcher, so test engines are looked up only once.
+   */
+  private static class LauncherHolder {
+
+    private static final Launcher LAUNCHER = LauncherFactory.create();
+  }
 }
@@ -4,18 +4,35 @@ import academy.kovalevskyi.testing.annotation.Container;
 import academy.kovalevskyi.testing.annotation.CourseProvider;
 import academy.kovalevskyi.testing.exception.ContainerNotFoundException;
 import academy.kovalevskyi.testing.exception.NotAnnotatedContainerException;
-import academy.kovalevskyi.testing.service.BaseComparator;
+import academy.kovalevskyi.testing.service.ContainerDescriptor;
+import academy.kovalevskyi.testing.service.FrameworkProperty;
 import academy.kovalevskyi.testing.service.Request;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
 
 /**
  * Provides all available test containers.
  */
 public final class ContainerManager {
 
+  private static final Map<Class<? extends CourseProvider>, CourseProvider> PROVIDERS =
+      new ConcurrentHashMap<>();
+
   /**
    * Provides all available containers from project or some packages.
    *
@@ -24,7 +41,11 @@ public final class ContainerManager {
    * @throws ContainerNotFoundException if containers are absent
    */
   public static List<Class<?>> getContainers(final String... packages) {
-    return findContainers(packages).collect(Collectors.toUnmodifiableList());
+    return findContainers(packages)
+        .stream()
+        .sorted()
+        .map(ContainerDescriptor::container)
+        .collect(Collectors.toUnmodifiableList());
   }
 
   /**
@@ -36,8 +57,12 @@ public final class ContainerManager {
    * @throws ContainerNotFoundException if containers are absent
    */
   public static List<Class<?>> getContainers(final Request request, final String... packages) {
+    // registered descriptors are filtered before their classes are loaded
     final var result = findContainers(packages)
-        .filter(request.getPredicate())
+        .stream()
+        .filter(request.getDescriptorPredicate())
+        .sorted()
+        .map(ContainerDescriptor::container)
         .collect(Collectors.toUnmodifiableList());
 
     if (result.isEmpty()) {
@@ -66,18 +91,45 @@ public final class ContainerManager {
 
   /**
    * Extracts an instance of {@link CourseProvider} implementation from {@link Container}
-   * annotation.
+   * annotation. The instance is created once per provider class and is shared by all callers.
    *
    * @param annotation {@link Container} instance
    * @return instance of {@link CourseProvider}
    * @throws ExceptionInInitializerError some edge situations
    */
   public static CourseProvider initProvider(final Container annotation) {
-    try {
-      return annotation.course().getConstructor().newInstance();
-    } catch (Exception e) {
-      throw new ExceptionInInitializerError(e);
-    }
+    return createProvider(annotation.course());
+  }
+
+  private static CourseProvider createProvider(final Class<? extends CourseProvider> provider) {
+    return PROVIDERS.computeIfAbsent(provider, course -> {
+      try {
+        return course.getConstructor().newInstance();
+      } catch (Exception e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    });
+  }
+
+  /**
+   * Forgets all instances of {@link CourseProvider} which were created by
+   * {@link #initProvider(Container)}, so the next calls create them again. Descriptors which keep
+   * course keys of these providers are forgotten too. Should be used when course classes are
+   * reloaded.
+   */
+  public static void resetProviders() {
+    PROVIDERS.clear();
+    ContainerDescriptor.reset();
+  }
+
+  /**
+   * Forgets instances of {@link CourseProvider} which are loaded by the class loader, so the
+   * loader can be collected.
+   *
+   * @param loader class loader which is not used anymore
+   */
+  static void forgetProviders(final ClassLoader loader) {
+    PROVIDERS.keySet().removeIf(course -> course.getClassLoader() == loader);
   }
 
   /**
@@ -97,14 +149,114 @@ public final class ContainerManager {
     return clazz.getAnnotation(Container.class);
   }
 
-  private static Stream<Class<?>> findContainers(final String... packages) {
-    final var reflections = new Reflections(packages.length == 0 ? "" : packages);
-    final var containers = reflections.getTypesAnnotatedWith(Container.class);
+  private static Collection<ContainerDescriptor> findContainers(final String... packages) {
+    final var loader = getClassLoader();
+    final var containers = findRegisteredContainers(loader, packages)
+        .orElseGet(() -> findIndexedContainers(loader, packages));
 
     if (containers.isEmpty()) {
       throw new ContainerNotFoundException("No available containers");
     }
 
-    return containers.stream().sorted(new BaseComparator());
+    return containers;
+  }
+
+  private static Optional<Collection<ContainerDescriptor>> findRegisteredContainers(
+      final ClassLoader loader,
+      final String... packages) {
+    if (!Boolean.parseBoolean(System.getProperty(FrameworkProperty.REGISTRY, "true"))) {
+      return Optional.empty();
+    }
+    return ContainerRegistry.load(loader, packages).map(registry -> {
+      final var keys = new HashMap<String, String>();
+      final var result = new LinkedHashSet<ContainerDescriptor>();
+      for (var entry : registry.containers()) {
+        result.add(ContainerDescriptor.of(
+            entry.name(),
+            loader,
+            keys.computeIfAbsent(entry.provider(), provider -> findKey(provider, loader)),
+            entry.week(),
+            entry.day(),
+            entry.id()));
+      }
+      if (!registry.unregistered().isEmpty()) {
+        result.addAll(findIndexedContainers(
+            loader,
+            directory -> new ContainerIndex(directory, registry.unregistered(), packages),
+            () -> scanContainers(loader, registry.unregistered(), packages)));
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Provides a course key of a provider class which is named in a registry, only providers are
+   * loaded, not containers.
+   */
+  private static String findKey(final String provider, final ClassLoader loader) {
+    try {
+      return createProvider(
+          Class.forName(provider, false, loader).asSubclass(CourseProvider.class)).key();
+    } catch (ClassNotFoundException e) {
+      final var error = new NoClassDefFoundError(provider);
+      error.initCause(e);
+      throw error;
+    }
+  }
+
+  private static Collection<ContainerDescriptor> findIndexedContainers(
+      final ClassLoader loader,
+      final String... packages) {
+    return findIndexedContainers(
+        loader,
+        directory -> new ContainerIndex(directory, packages),
+        () -> scanContainers(packages));
+  }
+
+  private static Collection<ContainerDescriptor> findIndexedContainers(
+      final ClassLoader loader,
+      final Function<Path, ContainerIndex> indexes,
+      final Supplier<Collection<ContainerDescriptor>> scanner) {
+    final var directory = System.getProperty(FrameworkProperty.INDEX_DIRECTORY);
+    if (directory == null || directory.isBlank()) {
+      return scanner.get();
+    }
+    final var index = indexes.apply(Path.of(directory));
+    return index.load(loader).orElseGet(() -> {
+      final var result = scanner.get();
+      index.store(result);
+      return result;
+    });
+  }
+
+  private static Collection<ContainerDescriptor> scanContainers(final String... packages) {
+    final var reflections = new Reflections(packages.length == 0 ? "" : packages);
+    return describe(reflections.getTypesAnnotatedWith(Container.class));
+  }
+
+  private static Collection<ContainerDescriptor> scanContainers(
+      final ClassLoader loader,
+      final Collection<URL> roots,
+      final String... packages) {
+    // subtypes of Object are kept, otherwise a root with only such containers fails the query
+    final var configuration = new ConfigurationBuilder()
+        .setUrls(roots)
+        .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner(false))
+        .addClassLoader(loader);
+    if (packages.length > 0) {
+      configuration.filterInputsBy(new FilterBuilder().includePackage(packages));
+    }
+    return describe(new Reflections(configuration).getTypesAnnotatedWith(Container.class));
+  }
+
+  private static Collection<ContainerDescriptor> describe(final Collection<Class<?>> containers) {
+    return containers.stream()
+        .map(ContainerDescriptor::of)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private static ClassLoader getClassLoader() {
+    final var loader = Thread.currentThread().getContextClassLoader();
+    return loader != null ? loader : ContainerManager.class.getClassLoader();
   }
 }
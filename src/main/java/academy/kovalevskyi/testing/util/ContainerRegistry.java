@@ -0,0 +1,176 @@
+package academy.kovalevskyi.testing.util;
+
+import academy.kovalevskyi.testing.processor.ContainerProcessor;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import org.reflections.util.ClasspathHelper;
+
+/**
+ * Reads containers from registry resources which are generated by {@link ContainerProcessor} at
+ * compile time. Registries are checked per jar file or class directory, so roots without a
+ * registry are reported to be scanned and containers which are compiled with no processor are not
+ * lost. Entries are read with no class loading, so containers may be filtered by their columns
+ * before their classes are loaded.
+ */
+final class ContainerRegistry {
+
+  private ContainerRegistry() {
+  }
+
+  /**
+   * Loads containers of some packages from all registry resources which are visible to the class
+   * loader and finds jar files and class directories of these packages which have no registry.
+   *
+   * @param loader   class loader of containers
+   * @param packages package prefixes
+   * @return an Optional of registered containers and roots without registry or an empty Optional
+   *     if no registry resource is usable
+   */
+  static Optional<Registry> load(final ClassLoader loader, final String... packages) {
+    final var roots = new LinkedHashMap<String, URL>();
+    final var registries = new LinkedHashMap<String, URL>();
+    try {
+      for (var prefix : packages.length == 0 ? new String[]{""} : packages) {
+        ClasspathHelper.forPackage(prefix, loader).forEach(root -> roots.put(toKey(root), root));
+      }
+      final var resources = loader.getResources(ContainerProcessor.REGISTRY);
+      while (resources.hasMoreElements()) {
+        final var registry = resources.nextElement();
+        final var location = registry.toExternalForm();
+        registries.put(
+            toKey(location.substring(0, location.length() - ContainerProcessor.REGISTRY.length())),
+            registry);
+      }
+    } catch (IOException | RuntimeException e) {
+      return Optional.empty();
+    }
+
+    final var result = new LinkedHashSet<Entry>();
+    final var registered = new HashSet<String>();
+    registries.forEach((key, registry) -> {
+      if (read(registry, loader, result, packages)) {
+        registered.add(key);
+      }
+    });
+    if (registered.isEmpty()) {
+      return Optional.empty();
+    }
+    final var unregistered = new ArrayList<URL>();
+    roots.forEach((key, root) -> {
+      if (!registered.contains(key)) {
+        unregistered.add(root);
+      }
+    });
+    return Optional.of(new Registry(List.copyOf(result), List.copyOf(unregistered)));
+  }
+
+  /**
+   * Reads one registry. Entries of the registry are added only if class files of all of their
+   * containers and course providers are present, the classes are not loaded.
+   *
+   * @return true if the registry is read
+   */
+  private static boolean read(
+      final URL registry,
+      final ClassLoader loader,
+      final Collection<Entry> result,
+      final String... packages) {
+    final var entries = new ArrayList<Entry>();
+    try (var reader = new BufferedReader(
+        new InputStreamReader(registry.openStream(), StandardCharsets.UTF_8))) {
+      reader.lines()
+          .filter(line -> !line.isBlank())
+          .map(ContainerRegistry::parse)
+          .filter(entry -> isIncluded(entry.name(), packages))
+          .forEach(entries::add);
+    } catch (IOException | RuntimeException e) {
+      return false;
+    }
+
+    final var checked = new HashSet<String>();
+    for (var entry : entries) {
+      for (var name : List.of(entry.name(), entry.provider())) {
+        if (checked.add(name) && !isPresent(name, loader)) {
+          return false;
+        }
+      }
+    }
+    result.addAll(entries);
+    return true;
+  }
+
+  private static Entry parse(final String line) {
+    final var values = line.split("\t");
+    if (values.length != 5) {
+      throw new IllegalArgumentException(String.format("Malformed entry '%s'", line));
+    }
+    return new Entry(
+        values[0],
+        values[1],
+        Integer.parseInt(values[2]),
+        Integer.parseInt(values[3]),
+        Integer.parseInt(values[4]));
+  }
+
+  private static boolean isPresent(final String name, final ClassLoader loader) {
+    return loader.getResource(name.replace('.', '/') + ".class") != null;
+  }
+
+  /**
+   * Converts a location of jar file or class directory to the same form for resources and
+   * packages.
+   */
+  private static String toKey(final URL root) {
+    return toKey(root.toExternalForm());
+  }
+
+  private static String toKey(final String root) {
+    var key = root;
+    if (key.startsWith("jar:")) {
+      key = key.substring("jar:".length());
+    }
+    if (key.endsWith("!/")) {
+      key = key.substring(0, key.length() - "!/".length());
+    }
+    return key;
+  }
+
+  private static boolean isIncluded(final String name, final String... packages) {
+    return packages.length == 0 || Arrays.stream(packages).anyMatch(name::startsWith);
+  }
+
+  /**
+   * Containers which are found in registry resources.
+   *
+   * @param containers   registered containers
+   * @param unregistered jar files and class directories of requested packages which have no
+   *                     registry and should be scanned
+   */
+  record Registry(Collection<Entry> containers, Collection<URL> unregistered) {
+
+  }
+
+  /**
+   * Container which is described by one line of a registry.
+   *
+   * @param name     binary name of test class
+   * @param provider binary name of course provider class
+   * @param week     week number
+   * @param day      day number
+   * @param id       container number
+   */
+  record Entry(String name, String provider, int week, int day, int id) {
+
+  }
+}
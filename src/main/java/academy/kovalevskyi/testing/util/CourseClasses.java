@@ -0,0 +1,110 @@
+package academy.kovalevskyi.testing.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Bytecode of course classes. Every class is read once and can be defined by many class loaders of
+ * submissions. Names of course classes are listed beforehand, so only they are cached and lookups
+ * of other classes cost nothing.
+ */
+final class CourseClasses implements Closeable {
+
+  private static final String CLASS_SUFFIX = ".class";
+  private final URLClassLoader locator;
+  private final Set<String> names = new HashSet<>();
+  private final Map<String, Optional<byte[]>> classes = new ConcurrentHashMap<>();
+
+  /**
+   * Prepares bytecode of classes from course jar files and class directories.
+   *
+   * @param classpath jar files and class directories
+   * @throws IOException if some path can not be converted to URL or can not be listed
+   */
+  CourseClasses(final Collection<Path> classpath) throws IOException {
+    final var urls = new ArrayList<URL>(classpath.size());
+    for (var entry : classpath) {
+      urls.add(entry.toUri().toURL());
+      listClasses(entry);
+    }
+    this.locator = new URLClassLoader(urls.toArray(URL[]::new), null);
+  }
+
+  /**
+   * Provides bytecode of a course class.
+   *
+   * @param name binary name of class
+   * @return an Optional of bytecode or an empty Optional if the class is not a course class
+   */
+  Optional<byte[]> find(final String name) {
+    if (!names.contains(name)) {
+      return Optional.empty();
+    }
+    return classes.computeIfAbsent(name, this::read);
+  }
+
+  URL findResource(final String name) {
+    return locator.findResource(name);
+  }
+
+  Enumeration<URL> findResources(final String name) throws IOException {
+    return locator.findResources(name);
+  }
+
+  @Override
+  public void close() throws IOException {
+    locator.close();
+  }
+
+  private void listClasses(final Path entry) throws IOException {
+    if (Files.isDirectory(entry)) {
+      try (Stream<Path> files = Files.walk(entry)) {
+        files.map(file -> entry.relativize(file).toString().replace(File.separatorChar, '/'))
+            .filter(file -> file.endsWith(CLASS_SUFFIX))
+            .map(CourseClasses::toName)
+            .forEach(names::add);
+      }
+    } else if (Files.isRegularFile(entry)) {
+      try (var jar = new JarFile(entry.toFile())) {
+        jar.stream()
+            .map(JarEntry::getName)
+            .filter(file -> file.endsWith(CLASS_SUFFIX))
+            .map(CourseClasses::toName)
+            .forEach(names::add);
+      }
+    }
+  }
+
+  private static String toName(final String file) {
+    return file.substring(0, file.length() - CLASS_SUFFIX.length()).replace('/', '.');
+  }
+
+  private Optional<byte[]> read(final String name) {
+    final var resource = locator.findResource(name.replace('.', '/') + CLASS_SUFFIX);
+    if (resource == null) {
+      return Optional.empty();
+    }
+    try (InputStream stream = resource.openStream()) {
+      return Optional.of(stream.readAllBytes());
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package academy.kovalevskyi.testing.util;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * Class loader of one submission. Java platform, Testing Framework and JUnit are always loaded by
+ * the parent. Course classes are defined by this loader from shared bytecode, so they are linked
+ * with classes of this submission. Other classes are looked up in the parent first and in the
+ * submission after that.
+ */
+final class SubmissionClassLoader extends URLClassLoader {
+
+  private static final String[] SHARED_PACKAGES = {
+      "java.",
+      "javax.",
+      "jdk.",
+      "sun.",
+      "academy.kovalevskyi.testing.",
+      "org.junit.",
+      "org.opentest4j.",
+      "org.apiguardian."
+  };
+
+  static {
+    registerAsParallelCapable();
+  }
+
+  private final CourseClasses courses;
+
+  SubmissionClassLoader(
+      final URL[] submission,
+      final CourseClasses courses,
+      final ClassLoader parent) {
+    super(submission, parent);
+    this.courses = courses;
+  }
+
+  @Override
+  protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+    if (isShared(name)) {
+      return super.loadClass(name, resolve);
+    }
+    synchronized (getClassLoadingLock(name)) {
+      var result = findLoadedClass(name);
+      if (result == null) {
+        final var bytecode = courses.find(name);
+        if (bytecode.isEmpty()) {
+          return super.loadClass(name, resolve);
+        }
+        result = defineClass(name, bytecode.get(), 0, bytecode.get().length);
+      }
+      if (resolve) {
+        resolveClass(result);
+      }
+      return result;
+    }
+  }
+
+  @Override
+  public URL findResource(String name) {
+    final var result = super.findResource(name);
+    return result != null ? result : courses.findResource(name);
+  }
+
+  @Override
+  public Enumeration<URL> findResources(String name) throws IOException {
+    final var result = Collections.list(super.findResources(name));
+    courses.findResources(name).asIterator().forEachRemaining(result::add);
+    return Collections.enumeration(result);
+  }
+
+  private static boolean isShared(final String name) {
+    for (var prefix : SHARED_PACKAGES) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,174 @@
+package academy.kovalevskyi.testing.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Cache of class loaders of submissions. Testing Framework, JUnit and libraries are loaded once by
+ * the parent loader and bytecode of course classes is read once, so a loader of a submission is
+ * much cheaper than a new JVM. A loader is reused while jar files and class directories of the
+ * submission stay the same. The least recently used loaders are closed when the cache is full.
+ */
+public final class SubmissionLoaders implements Closeable {
+
+  private final ClassLoader parent;
+  private final CourseClasses courses;
+  private final Map<String, Entry> entries;
+
+  /**
+   * Prepares an empty cache.
+   *
+   * @param parent          loader of Testing Framework, JUnit and libraries
+   * @param courseClasspath jar files and class directories of course classes, these classes are
+   *                        defined by the loader of every submission
+   * @param capacity        maximum number of cached loaders
+   * @throws IOException if some path of course classes can not be converted to URL
+   */
+  public SubmissionLoaders(
+      final ClassLoader parent,
+      final Collection<Path> courseClasspath,
+      final int capacity) throws IOException {
+    this.parent = parent;
+    this.courses = new CourseClasses(courseClasspath);
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > Math.max(1, capacity)) {
+          eldest.getValue().evict();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Provides a loader of the submission. The loader stays open at least until the lease is
+   * closed.
+   *
+   * @param classpath jar files and class directories of the submission
+   * @return lease of the loader
+   * @throws IOException if the submission can not be read
+   */
+  public Lease acquire(final List<Path> classpath) throws IOException {
+    final var key = new StringJoiner(File.pathSeparator);
+    final var urls = new ArrayList<URL>(classpath.size());
+    for (var entry : classpath) {
+      final var path = entry.toAbsolutePath().normalize();
+      key.add(path.toString());
+      urls.add(path.toUri().toURL());
+    }
+    final var stamp = ContainerIndex.stamp(classpath);
+    synchronized (entries) {
+      final var entry = entries.get(key.toString());
+      if (entry != null && entry.stamp.equals(stamp)) {
+        return lease(entry);
+      }
+    }
+    // contents are hashed only if sizes or modification times are changed
+    final var fingerprint = ContainerIndex.fingerprint(classpath);
+    synchronized (entries) {
+      var entry = entries.get(key.toString());
+      if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+        if (entry != null) {
+          entry.evict();
+        }
+        entry = new Entry(
+            new SubmissionClassLoader(urls.toArray(URL[]::new), courses, parent),
+            fingerprint);
+        entries.put(key.toString(), entry);
+      }
+      entry.stamp = stamp;
+      return lease(entry);
+    }
+  }
+
+  /**
+   * Closes all loaders which are not leased and all other loaders as soon as their leases are
+   * closed.
+   *
+   * @throws IOException if bytecode of course classes can not be released
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (entries) {
+      entries.values().forEach(Entry::evict);
+      entries.clear();
+    }
+    courses.close();
+  }
+
+  private Lease lease(final Entry entry) {
+    entry.users++;
+    return new Lease(entry);
+  }
+
+  /**
+   * Lease of a submission loader. Closing of the lease lets the cache close the loader when it is
+   * evicted.
+   */
+  public final class Lease implements AutoCloseable {
+
+    private final Entry entry;
+    private boolean closed;
+
+    private Lease(final Entry entry) {
+      this.entry = entry;
+    }
+
+    public ClassLoader getLoader() {
+      return entry.loader;
+    }
+
+    @Override
+    public void close() {
+      synchronized (entries) {
+        if (!closed) {
+          closed = true;
+          entry.users--;
+          entry.release();
+        }
+      }
+    }
+  }
+
+  private static class Entry {
+
+    private final SubmissionClassLoader loader;
+    private final String fingerprint;
+    private String stamp;
+    private int users;
+    private boolean evicted;
+
+    private Entry(final SubmissionClassLoader loader, final String fingerprint) {
+      this.loader = loader;
+      this.fingerprint = fingerprint;
+    }
+
+    private void evict() {
+      evicted = true;
+      release();
+    }
+
+    private void release() {
+      if (!evicted || users > 0) {
+        return;
+      }
+      ContainerManager.forgetProviders(loader);
+      try {
+        loader.close();
+      } catch (IOException e) {
+        // the loader is not used anymore
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package academy.kovalevskyi.testing.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContainerProcessorTest {
+
+  @TempDir
+  public Path directory;
+
+  @Test
+  public void testSupportedAnnotation() {
+    var processor = new ContainerProcessor();
+    assertEquals(1, processor.getSupportedAnnotationTypes().size());
+    assertTrue(processor
+        .getSupportedAnnotationTypes()
+        .contains("academy.kovalevskyi.testing.annotation.Container"));
+  }
+
+  @Test
+  public void testRegistry() throws IOException {
+    compile(
+        "some/First.java",
+        "package some;\n"
+            + "@academy.kovalevskyi.testing.annotation.Container(\n"
+            + "    course = some.Provider.class, week = 1, day = 2, id = 3)\n"
+            + "public class First {\n"
+            + "  @academy.kovalevskyi.testing.annotation.Container(\n"
+            + "      course = some.Provider.class, week = 4, day = 5, id = 6)\n"
+            + "  public static class Nested {}\n"
+            + "}\n",
+        "some/Provider.java",
+        "package some;\n"
+            + "public class Provider implements academy.kovalevskyi.testing.annotation"
+            + ".CourseProvider {\n"
+            + "  public String name() { return \"name\"; }\n"
+            + "  public String key() { return \"KEY\"; }\n"
+            + "}\n");
+
+    var registry = directory.resolve("classes").resolve(ContainerProcessor.REGISTRY);
+    assertEquals(
+        List.of("some.First\tsome.Provider\t1\t2\t3", "some.First$Nested\tsome.Provider\t4\t5\t6"),
+        Files.readAllLines(registry));
+  }
+
+  @Test
+  public void testNoRegistryWithoutContainers() throws IOException {
+    compile("some/Simple.java", "package some;\npublic class Simple {}\n");
+
+    assertFalse(Files.exists(directory.resolve("classes").resolve(ContainerProcessor.REGISTRY)));
+  }
+
+  @Test
+  public void testIncrementalRegistry() throws IOException {
+    compile(
+        "some/First.java", container("First", 1),
+        "some/Second.java", container("Second", 2));
+    compile(
+        "some/Second.java", container("Second", 5),
+        "some/Third.java", container("Third", 3));
+
+    var registry = directory.resolve("classes").resolve(ContainerProcessor.REGISTRY);
+    var provider = "\tacademy.kovalevskyi.testing.test.TestProvider\t";
+    assertEquals(
+        List.of(
+            "some.First" + provider + "1\t1\t1",
+            "some.Second" + provider + "1\t1\t5",
+            "some.Third" + provider + "1\t1\t3"),
+        Files.readAllLines(registry));
+  }
+
+  private String container(String name, int id) {
+    return "package some;\n"
+        + "@academy.kovalevskyi.testing.annotation.Container(\n"
+        + "    course = academy.kovalevskyi.testing.test.TestProvider.class,\n"
+        + "    week = 1, day = 1, id = " + id + ")\n"
+        + "public class " + name + " {}\n";
+  }
+
+  private void compile(String... sources) throws IOException {
+    var output = Files.createDirectories(directory.resolve("classes"));
+    var compiler = ToolProvider.getSystemJavaCompiler();
+    try (var manager = compiler.getStandardFileManager(null, null, null)) {
+      var files = new Path[sources.length / 2];
+      for (var index = 0; index < sources.length; index += 2) {
+        var file = directory.resolve("sources").resolve(sources[index]);
+        Files.createDirectories(file.getParent());
+        files[index / 2] = Files.writeString(file, sources[index + 1]);
+      }
+      var task = compiler.getTask(
+          null,
+          manager,
+          null,
+          List.of(
+              "-d",
+              output.toString(),
+              "-cp",
+              output + File.pathSeparator + System.getProperty("java.class.path")),
+          null,
+          manager.getJavaFileObjects(files));
+      task.setProcessors(List.of(new ContainerProcessor()));
+      assertTrue(task.call());
+    }
+  }
+}
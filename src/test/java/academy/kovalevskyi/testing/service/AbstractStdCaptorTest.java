@@ -4,14 +4,36 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.opentest4j.AssertionFailedError;
 
 public class AbstractStdCaptorTest {
 
@@ -41,6 +63,19 @@ public class AbstractStdCaptorTest {
     assertTrue(afterAll);
   }
 
+  @Test
+  public void testConfigOfBindMethod() {
+    var beforeEach = false;
+    for (var method : AbstractStdCaptor.class.getDeclaredMethods()) {
+      if (method.isAnnotationPresent(BeforeEach.class)) {
+        beforeEach = true;
+        testPackageModifier(method);
+      }
+    }
+
+    assertTrue(beforeEach);
+  }
+
   @Test
   public void testConfigOfResetMethod() {
     var afterEach = false;
@@ -129,9 +164,246 @@ public class AbstractStdCaptorTest {
     assertTrue(abstractStdCaptor.getStdErrContent().isEmpty());
   }
 
+  @Test
+  public void testCaptorBindsBuffersOfTest() {
+    AbstractStdCaptor.setUpCustomOutput();
+    var captor = new AbstractStdCaptor() {
+    };
+    captor.bindBuffersData();
+    System.out.print("bound");
+    System.err.print("bound");
+    var outContent = captor.getStdOutContent();
+    var errContent = captor.getStdErrContent();
+    captor.resetBuffersData();
+    System.out.print("shared");
+    AbstractStdCaptor.setUpDefaultOutput();
+
+    assertEquals("bound", outContent);
+    assertEquals("bound", errContent);
+    assertEquals("shared", abstractStdCaptor.getStdOutContent());
+    assertTrue(abstractStdCaptor.getStdErrContent().isEmpty());
+    abstractStdCaptor.resetBuffersData();
+  }
+
+  @Test
+  public void testCaptorProvidesViewsOfContent() {
+    AbstractStdCaptor.setUpCustomOutput();
+    abstractStdCaptor.resetBuffersData();
+    System.out.print("first");
+    var first = abstractStdCaptor.getStdOut();
+    System.out.print(" second");
+    var second = abstractStdCaptor.getStdOut();
+    System.err.print("error");
+    AbstractStdCaptor.setUpDefaultOutput();
+
+    assertEquals("first", first.toString());
+    assertEquals("first second", second.toString());
+    assertEquals("error", abstractStdCaptor.getStdErr().toString());
+    abstractStdCaptor.resetBuffersData();
+  }
+
+  @Test
+  public void testCaptorProvidesLines() {
+    AbstractStdCaptor.setUpCustomOutput();
+    abstractStdCaptor.resetBuffersData();
+    System.out.println("first");
+    System.out.print("second");
+    System.err.println("error");
+    AbstractStdCaptor.setUpDefaultOutput();
+
+    assertEquals(2, abstractStdCaptor.getStdOutLineCount());
+    assertEquals("second", abstractStdCaptor.getStdOutLine(1));
+    assertEquals(List.of("first", "second"), abstractStdCaptor.getStdOutLines().toList());
+    assertEquals(1, abstractStdCaptor.getStdErrLineCount());
+    assertEquals("error", abstractStdCaptor.getStdErrLine(0));
+    assertEquals(List.of("error"), abstractStdCaptor.getStdErrLines().toList());
+    abstractStdCaptor.resetBuffersData();
+  }
+
+  @Test
+  public void testCaptorComparesOutputWithFile(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("expected.txt");
+    Files.writeString(file, String.format("first%nsecond%n"));
+    AbstractStdCaptor.setUpCustomOutput();
+    abstractStdCaptor.resetBuffersData();
+    System.out.println("first");
+    System.out.println("second");
+    System.err.println("first");
+    AbstractStdCaptor.setUpDefaultOutput();
+
+    abstractStdCaptor.assertStdOutEquals(file);
+    var error = assertThrows(
+        AssertionFailedError.class,
+        () -> abstractStdCaptor.assertStdErrEquals(file));
+    assertTrue(error.getMessage().startsWith("Output differs from expected output at line 2"));
+    assertThrows(
+        UncheckedIOException.class,
+        () -> abstractStdCaptor.assertStdOutEqualsResource("absent.txt"));
+    abstractStdCaptor.resetBuffersData();
+  }
+
+  @Test
+  public void testCaptorFeedsStdIn(@TempDir Path directory) throws IOException {
+    var defaultIn = System.in;
+    var file = Files.writeString(directory.resolve("input.txt"), "1 2\n3");
+    AbstractStdCaptor.setUpCustomOutput();
+    var captor = new AbstractStdCaptor() {
+    };
+    captor.bindBuffersData();
+
+    captor.feedStdIn(file);
+    var scanner = new Scanner(System.in);
+    var sum = scanner.nextInt() + scanner.nextInt() + scanner.nextInt();
+    captor.feedStdIn(IntStream.range(0, 100_000).mapToObj(String::valueOf));
+    var lines = new BufferedReader(new InputStreamReader(System.in)).lines().count();
+    captor.resetBuffersData();
+    var restored = ((RoutingInputStream) System.in).current();
+    AbstractStdCaptor.setUpDefaultOutput();
+
+    assertEquals(6, sum);
+    assertEquals(100_000, lines);
+    assertEquals(defaultIn, restored);
+    assertEquals(defaultIn, System.in);
+    assertThrows(IllegalStateException.class, () -> captor.feedStdIn(file));
+  }
+
+  @Test
+  public void testCaptorFeedsStdInFromAbsentResource() {
+    AbstractStdCaptor.setUpCustomOutput();
+    try {
+      assertThrows(
+          UncheckedIOException.class,
+          () -> abstractStdCaptor.feedStdInResource("absent.txt"));
+    } finally {
+      AbstractStdCaptor.setUpDefaultOutput();
+    }
+  }
+
+  @Test
+  public void testParallelCaptors() {
+    assertEquals(20, executeInParallel(ParallelCaptor.class));
+  }
+
+  @Test
+  public void testParallelFeeders() {
+    assertEquals(20, executeInParallel(ParallelFeeder.class));
+  }
+
+  @Test
+  public void testParallelFeedersWithContainerHandler() {
+    var defaultOut = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      assertEquals(20, executeInParallel(HandledParallelFeeder.class));
+    } finally {
+      System.setOut(defaultOut);
+    }
+  }
+
+  @Test
+  public void testParallelCaptorsWithContainerHandler() {
+    var defaultOut = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      assertEquals(20, executeInParallel(HandledParallelCaptor.class));
+    } finally {
+      System.setOut(defaultOut);
+    }
+  }
+
+  @Test
+  public void testCaptorOfParallelStream() {
+    IntStream.range(0, 64).parallel().forEach(index -> Thread.yield());
+    assertEquals(3, execute(ParallelStreamCaptor.class, false));
+  }
+
+  @Test
+  public void testCaptorOfParallelStreamWithContainerHandler() {
+    var defaultOut = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      assertEquals(3, execute(HandledParallelStreamCaptor.class, false));
+    } finally {
+      System.setOut(defaultOut);
+    }
+  }
+
+  private long executeInParallel(Class<?> container) {
+    return execute(container, true);
+  }
+
+  private long execute(Class<?> container, boolean parallel) {
+    var listener = new SummaryGeneratingListener();
+    var request = LauncherDiscoveryRequestBuilder.request()
+        .selectors(DiscoverySelectors.selectClass(container))
+        .configurationParameter(
+            "junit.jupiter.execution.parallel.enabled",
+            String.valueOf(parallel))
+        .configurationParameter("junit.jupiter.execution.parallel.mode.default", "concurrent")
+        .build();
+    LauncherFactory.create().execute(request, listener);
+    assertEquals(0, listener.getSummary().getTotalFailureCount());
+    return listener.getSummary().getTestsSucceededCount();
+  }
+
   private void testPackageModifier(Method method) {
     assertFalse(Modifier.isPrivate((method.getModifiers())));
     assertFalse(Modifier.isPublic((method.getModifiers())));
     assertFalse(Modifier.isProtected((method.getModifiers())));
   }
+
+  public static class ParallelCaptor extends AbstractStdCaptor {
+
+    @RepeatedTest(20)
+    public void testOwnBuffers(RepetitionInfo info) {
+      var text = String.valueOf(info.getCurrentRepetition());
+      for (var index = 0; index < 100; index++) {
+        System.out.print(text);
+        System.err.print(text);
+        Thread.yield();
+      }
+
+      assertEquals(text.repeat(100), getStdOutContent());
+      assertEquals(text.repeat(100), getStdErrContent());
+    }
+  }
+
+  public static class ParallelFeeder extends AbstractStdCaptor {
+
+    @RepeatedTest(20)
+    public void testOwnInput(RepetitionInfo info) {
+      var repetition = info.getCurrentRepetition();
+      feedStdIn(IntStream.range(0, 1_000).mapToObj(index -> String.valueOf(repetition)));
+      var scanner = new Scanner(System.in);
+      var sum = 0;
+      while (scanner.hasNextInt()) {
+        sum += scanner.nextInt();
+        Thread.yield();
+      }
+
+      assertEquals(repetition * 1_000, sum);
+    }
+  }
+
+  public static class ParallelStreamCaptor extends AbstractStdCaptor {
+
+    @RepeatedTest(3)
+    public void testOutputOfCommonPool() {
+      IntStream.range(0, 64).parallel().forEach(index -> System.out.print('a'));
+
+      assertEquals("a".repeat(64), getStdOutContent());
+    }
+  }
+
+  @ExtendWith(ContainerHandler.class)
+  public static class HandledParallelStreamCaptor extends ParallelStreamCaptor {
+  }
+
+  @ExtendWith(ContainerHandler.class)
+  public static class HandledParallelFeeder extends ParallelFeeder {
+  }
+
+  @ExtendWith(ContainerHandler.class)
+  public static class HandledParallelCaptor extends ParallelCaptor {
+  }
 }
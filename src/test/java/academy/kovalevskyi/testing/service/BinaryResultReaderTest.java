@@ -0,0 +1,119 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import academy.kovalevskyi.testing.test.five.TestClassSeven;
+import academy.kovalevskyi.testing.util.ContainerLauncher;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryResultReaderTest {
+
+  @TempDir
+  public Path directory;
+
+  @Test
+  public void testResults() throws IOException {
+    var file = directory.resolve("results.bin");
+    var expected = List.of(
+        new TestResult("a.B", "ok", 0, State.SUCCESSFUL, 15, null),
+        new TestResult("a.B", "bad", 2, State.FAILED, Long.MAX_VALUE, "Привіт\n"),
+        new TestResult("a.C", "ok", 300, State.NO_CLASS, 0, "a.B"));
+    try (var sink = new BinaryResultSink(file)) {
+      for (var result : expected) {
+        sink.accept(result);
+      }
+    }
+    assertEquals(expected, read(file));
+  }
+
+  @Test
+  public void testStringsAreWrittenOncePerBlock() throws IOException {
+    var file = directory.resolve("results.bin");
+    var container = "a".repeat(100);
+    try (var sink = new BinaryResultSink(file)) {
+      for (var index = 0; index < 100; index++) {
+        sink.accept(new TestResult(container, "test", index, State.SUCCESSFUL, index, null));
+      }
+    }
+    assertTrue(Files.size(file) < 1000);
+    assertEquals(100, read(file).size());
+  }
+
+  @Test
+  public void testBlocksAreAppended() throws IOException {
+    var file = directory.resolve("results.bin");
+    var cause = "x".repeat(1 << 17);
+    var expected = IntStream.range(0, 5000)
+        .mapToObj(index -> new TestResult(
+            "a.B" + index % 7,
+            "test" + index,
+            index,
+            State.values()[index % State.values().length],
+            index * 1_000_000L,
+            index % 1000 == 0 ? cause : null))
+        .collect(Collectors.toList());
+    try (var first = new BinaryResultSink(file)) {
+      for (var result : expected.subList(0, 2500)) {
+        first.accept(result);
+      }
+    }
+    try (var second = ResultSink.open(file)) {
+      for (var result : expected.subList(2500, 5000)) {
+        second.accept(result);
+      }
+    }
+    assertEquals(expected, read(file));
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    var file = Files.createFile(directory.resolve("results.bin"));
+    assertFalse(new BinaryResultReader(file).iterator().hasNext());
+  }
+
+  @Test
+  public void testMalformedFile() throws IOException {
+    var file = Files.write(directory.resolve("results.bin"), new byte[]{1, 2, 3});
+    var results = new BinaryResultReader(file).iterator();
+    assertThrows(IllegalStateException.class, results::next);
+  }
+
+  @Test
+  public void testResultsOfLaunch() throws IOException {
+    var file = directory.resolve("results.bin");
+    var configuration = RunConfiguration.builder().resultFile(file).build();
+    var stdOut = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      ContainerLauncher.execute(List.of(TestClassSeven.class), configuration);
+    } finally {
+      System.setOut(stdOut);
+    }
+
+    var results = read(file);
+    assertEquals(10, results.size());
+    assertEquals(3, results.stream().filter(result -> result.state() == State.FAILED).count());
+    for (var result : results) {
+      assertEquals(TestClassSeven.class.getName(), result.container());
+    }
+  }
+
+  private static List<TestResult> read(Path file) throws IOException {
+    var result = new ArrayList<TestResult>();
+    new BinaryResultReader(file).forEach(result::add);
+    return result;
+  }
+}
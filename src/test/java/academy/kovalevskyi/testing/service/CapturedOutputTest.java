@@ -0,0 +1,144 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CapturedOutputTest {
+
+  private CapturedOutput output;
+
+  @BeforeEach
+  public void setUp() {
+    output = new CapturedOutput(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testEmptyContent() {
+    assertEquals(0, output.content().length());
+    assertEquals("", output.content().toString());
+  }
+
+  @Test
+  public void testIncrementalContent() {
+    write("first ");
+    var first = output.content();
+    write("second");
+    var second = output.content();
+
+    assertEquals("first ", first.toString());
+    assertEquals("first second", second.toString());
+    assertEquals(12, output.size());
+  }
+
+  @Test
+  public void testCharacterSplitBetweenWrites() {
+    var bytes = "Зевс".getBytes(StandardCharsets.UTF_8);
+    output.write(bytes, 0, 3);
+    assertEquals("З", output.content().toString());
+    output.write(bytes, 3, bytes.length - 3);
+    assertEquals("Зевс", output.content().toString());
+  }
+
+  @Test
+  public void testViewIsNotChangedByReset() {
+    write("kept");
+    var view = output.content();
+    output.reset();
+    write("new");
+
+    assertEquals("kept", view.toString());
+    assertEquals("new", output.content().toString());
+  }
+
+  @Test
+  public void testSubSequence() {
+    write("one two three");
+    var view = output.content();
+    var two = view.subSequence(4, 7);
+
+    assertEquals("two", two.toString());
+    assertEquals('w', two.charAt(1));
+    assertEquals("w", two.subSequence(1, 2).toString());
+    assertTrue(Pattern.compile("t\\w+e").matcher(view).find());
+    assertThrows(IndexOutOfBoundsException.class, () -> two.charAt(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subSequence(5, 14));
+  }
+
+  @Test
+  public void testLargeContent() {
+    var line = "line of output\n".getBytes(StandardCharsets.UTF_8);
+    for (var index = 0; index < 10_000; index++) {
+      output.write(line, 0, line.length);
+      if (index % 1_000 == 0) {
+        assertEquals(line.length * (index + 1), output.content().length());
+      }
+    }
+
+    assertEquals("line of output\n".repeat(10_000), output.content().toString());
+  }
+
+  @Test
+  public void testLineIndex() {
+    assertEquals(0, output.lineCount());
+    write("first\nsec");
+    assertEquals(2, output.lineCount());
+    assertEquals("sec", output.line(1));
+    write("ond\r\n\nЗевс");
+
+    assertEquals(4, output.lineCount());
+    assertEquals("first", output.line(0));
+    assertEquals("second", output.line(1));
+    assertEquals("", output.line(2));
+    assertEquals("Зевс", output.line(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> output.line(4));
+    assertEquals(
+        List.of("first", "second", "", "Зевс"),
+        output.lines().collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testLineIndexMatchesStringLines() {
+    for (var text : List.of("", "\n", "a", "a\n", "a\n\nb", "\n\n", "a\r\nb\r\n")) {
+      output.reset();
+      write(text);
+      assertEquals(text.lines().collect(Collectors.toList()), output.lines().toList(), text);
+      assertEquals(text.lines().count(), output.lineCount(), text);
+    }
+  }
+
+  @Test
+  public void testLinesAreNotChangedByLaterOutput() {
+    write("one\ntwo\n");
+    var lines = output.lines();
+    write("three\n");
+    output.reset();
+
+    assertEquals(List.of("one", "two"), lines.toList());
+  }
+
+  @Test
+  public void testManyLines() {
+    var line = "line\n".getBytes(StandardCharsets.UTF_8);
+    for (var index = 0; index < 100_000; index++) {
+      output.write(line, 0, line.length);
+    }
+    output.write('x');
+
+    assertEquals(100_001, output.lineCount());
+    assertEquals("line", output.line(50_000));
+    assertEquals("x", output.line(100_000));
+  }
+
+  private void write(String text) {
+    var bytes = text.getBytes(StandardCharsets.UTF_8);
+    output.write(bytes, 0, bytes.length);
+  }
+}
@@ -0,0 +1,108 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConsoleRendererTest {
+
+  private ByteArrayOutputStream console;
+
+  @BeforeEach
+  public void setUp() {
+    console = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void testOutputIsBatched() {
+    var renderer = renderer(true);
+    renderer.print("first\n");
+    renderer.print("second\n");
+    assertEquals("", console.toString());
+    renderer.flush();
+    assertEquals("first\nsecond\n", console.toString());
+  }
+
+  @Test
+  public void testEntriesAreFlushedOnInteractiveConsoleAfterInterval() {
+    var renderer = new ConsoleRenderer(new PrintStream(console, false), true, Duration.ZERO);
+    renderer.stream().print(":\ntext\n");
+    assertEquals("", console.toString());
+    renderer.print("test - OK\n");
+    assertEquals(":\ntext\ntest - OK\n", console.toString());
+  }
+
+  @Test
+  public void testBoundStreamIsNotInteractive() {
+    var routing = new RoutingPrintStream(new PrintStream(new ByteArrayOutputStream(), false));
+    routing.bind(new PrintStream(console, false));
+    var renderer = ConsoleRenderer.of(routing);
+    renderer.paint("test - RUN");
+    renderer.expose();
+    renderer.print("test - OK\n");
+    assertEquals("test - RUNtest - OK\n", console.toString());
+  }
+
+  @Test
+  public void testEntriesAreFlushedOnRedirectedConsole() {
+    var renderer = renderer(false);
+    renderer.stream().print(":\ntext\n");
+    assertEquals("", console.toString());
+    renderer.print("test - OK\n");
+    assertEquals(":\ntext\ntest - OK\n", console.toString());
+  }
+
+  @Test
+  public void testTransientLineIsDropped() {
+    var renderer = renderer(true);
+    renderer.paint("test - RUN");
+    renderer.clear();
+    renderer.print("test - OK\n");
+    renderer.flush();
+    assertEquals("test - OK\n", console.toString());
+  }
+
+  @Test
+  public void testTransientLineIsCommittedByOutput() {
+    var renderer = renderer(false);
+    renderer.paint("test - RUN");
+    renderer.stream().print(":\ntext\n");
+    renderer.clear();
+    renderer.print("test - OK\n");
+    renderer.flush();
+    assertEquals("test - RUN:\ntext\ntest - OK\n", console.toString());
+  }
+
+  @Test
+  public void testTransientLineIsPaintedOnInteractiveConsole() {
+    var renderer = renderer(true);
+    renderer.paint("test - RUN");
+    renderer.expose();
+    assertEquals("test - RUN", console.toString());
+    renderer.clear();
+    renderer.print("test - OK\n");
+    renderer.flush();
+    assertEquals("test - RUN\r          \rtest - OK\n", console.toString());
+  }
+
+  @Test
+  public void testTransientLineIsNotPaintedOnRedirectedConsole() {
+    var renderer = renderer(false);
+    renderer.paint("test - RUN");
+    renderer.expose();
+    assertEquals("", console.toString());
+    renderer.stream().print("text\n");
+    assertEquals("test - RUNtext\n", console.toString());
+  }
+
+  private ConsoleRenderer renderer(boolean interactive) {
+    return new ConsoleRenderer(
+        new PrintStream(console, false),
+        interactive,
+        Duration.ofDays(1));
+  }
+}
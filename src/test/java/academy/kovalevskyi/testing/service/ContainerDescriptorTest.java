@@ -0,0 +1,75 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import academy.kovalevskyi.testing.exception.NotAnnotatedContainerException;
+import academy.kovalevskyi.testing.test.TestProvider;
+import academy.kovalevskyi.testing.test.five.TestClassEight;
+import academy.kovalevskyi.testing.test.one.TestClassOne;
+import academy.kovalevskyi.testing.test.one.TestClassTwo;
+import academy.kovalevskyi.testing.test.three.TestClassFour;
+import academy.kovalevskyi.testing.test.two.TestClassThree;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ContainerDescriptorTest {
+
+  @Test
+  public void testDescriptor() {
+    var descriptor = ContainerDescriptor.of(TestClassEight.class);
+    assertEquals(TestClassEight.class, descriptor.container());
+    assertEquals(TestProvider.KEY, descriptor.key());
+    assertEquals(4, descriptor.week());
+    assertEquals(0, descriptor.day());
+    assertEquals(1, descriptor.id());
+  }
+
+  @Test
+  public void testDescriptorIsComputedOnce() {
+    var expected = ContainerDescriptor.of(TestClassOne.class);
+    assertSame(expected, ContainerDescriptor.of(TestClassOne.class));
+  }
+
+  @Test
+  public void testNotAnnotatedClass() {
+    assertThrows(NotAnnotatedContainerException.class,
+        () -> ContainerDescriptor.of(ContainerDescriptorTest.class));
+  }
+
+  @Test
+  public void testNaturalOrder() {
+    var original = List.of(
+        ContainerDescriptor.of(TestClassOne.class),
+        ContainerDescriptor.of(TestClassTwo.class),
+        ContainerDescriptor.of(TestClassThree.class),
+        ContainerDescriptor.of(TestClassFour.class),
+        ContainerDescriptor.of(TestClassEight.class));
+
+    var sorted = new ArrayList<>(original);
+    Collections.shuffle(sorted);
+    Collections.sort(sorted);
+
+    assertArrayEquals(original.toArray(), sorted.toArray());
+  }
+
+  @Test
+  public void testCourseKeyGoesFirst() {
+    var first = new ContainerDescriptor(TestClassOne.class, "A", 9, 9, 9);
+    var second = new ContainerDescriptor(TestClassOne.class, "B", 0, 0, 0);
+    assertTrue(first.compareTo(second) < 0);
+    assertTrue(second.compareTo(first) > 0);
+  }
+
+  @Test
+  public void testNoOverflow() {
+    var first = new ContainerDescriptor(TestClassOne.class, "A", Integer.MIN_VALUE, 0, 0);
+    var second = new ContainerDescriptor(TestClassOne.class, "A", Integer.MAX_VALUE, 0, 0);
+    assertTrue(first.compareTo(second) < 0);
+  }
+}
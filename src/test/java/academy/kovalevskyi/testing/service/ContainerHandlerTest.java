@@ -1,12 +1,17 @@
 package academy.kovalevskyi.testing.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import academy.kovalevskyi.testing.annotation.TimeLimit;
 import academy.kovalevskyi.testing.test.five.TestClassEight;
 import academy.kovalevskyi.testing.test.five.TestClassEleven;
+import academy.kovalevskyi.testing.test.five.TestClassFifteen;
+import academy.kovalevskyi.testing.test.five.TestClassFourteen;
 import academy.kovalevskyi.testing.test.five.TestClassNine;
 import academy.kovalevskyi.testing.test.five.TestClassSeven;
+import academy.kovalevskyi.testing.test.five.TestClassSixteen;
 import academy.kovalevskyi.testing.test.five.TestClassTen;
 import academy.kovalevskyi.testing.test.five.TestClassThirteen;
 import academy.kovalevskyi.testing.test.five.TestClassTwelve;
@@ -17,8 +22,16 @@ import academy.kovalevskyi.testing.test.three.TestClassFive;
 import academy.kovalevskyi.testing.test.two.TestClassThree;
 import academy.kovalevskyi.testing.util.ContainerLauncher;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.fusesource.jansi.Ansi;
@@ -27,6 +40,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
 
 public class ContainerHandlerTest {
 
@@ -104,6 +126,128 @@ public class ContainerHandlerTest {
     checkEntries(expected);
   }
 
+  @Test
+  public void testResultFile(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("results.jsonl");
+    var configuration = RunConfiguration.builder().resultFile(file).build();
+    ContainerLauncher.execute(List.of(TestClassSeven.class), configuration);
+
+    var lines = Files.readAllLines(file);
+    assertEquals(10, lines.size());
+    var container = TestClassSeven.class.getName();
+    assertTrue(lines.contains(String.format("{\"container\":\"%s\","
+        + "\"method\":\"withPrintsDisabled\",\"repetition\":0,\"state\":\"DISABLED\","
+        + "\"duration\":0,\"cause\":\"public void %s."
+        + "withPrintsDisabled() is @Disabled\"}", container, container)));
+    assertEquals(2, lines.stream()
+        .filter(line -> line.contains("\"method\":\"withRepeatedPrintsBad\""))
+        .filter(line -> line.contains("\"state\":\"FAILED\""))
+        .filter(line -> line.contains("\"cause\":\"org.opentest4j.AssertionFailedError: "
+            + MESSAGE + "\""))
+        .count());
+    assertTrue(lines.stream().anyMatch(line -> line.contains("\"repetition\":2")));
+  }
+
+  @Test
+  public void testTimeLimit() {
+    ContainerLauncher.execute(TestClassFourteen.class, false, false, false);
+    var fatal = prepareStatus(
+        State.INTERRUPTED,
+        String.format("Time (%s) is out! Something went wrong...\n", TIME_GAG));
+    var expected = String.format("Result of TestClassFourteen:\n\n"
+            + "inTime() - %1$s\n"
+            + "repeatedOutOfTime() test 1 - %2$s\n"
+            + "repeatedOutOfTime() test 2 - %2$s\n"
+            + "outOfTime() - %2$s\n\n"
+            + "TOTAL 4 | SUCCESSFUL 1 | FAILED 3 | TIME %3$s",
+        prepareStatus(State.SUCCESSFUL, null),
+        fatal,
+        TIME_GAG);
+
+    checkEntries(expected);
+  }
+
+  @Test
+  public void testTimeLimitOfLifecycleMethodsAndDynamicTests() {
+    var start = System.nanoTime();
+    ContainerLauncher.execute(TestClassFifteen.class, false, false, false);
+    var fatal = prepareStatus(
+        State.INTERRUPTED,
+        String.format("Time (%s) is out! Something went wrong...\n", TIME_GAG));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    assertTrue(prepareConsoleView()
+        .replaceAll(TEMPLATE, TIME_GAG)
+        .contains("outOfTimeBeforeEach() - " + fatal));
+  }
+
+  @Test
+  public void testAbandonedThreadsAreCountedPerLaunch() {
+    TestClassFifteen.ignoreInterruption = true;
+    try {
+      // threads of the first launch are still running during the second one
+      assertEquals("1", executeForEntries(TestClassFifteen.class)
+          .get("TestClassFifteen")
+          .get(ContainerHandler.ABANDONED_ENTRY));
+      assertEquals("1", executeForEntries(TestClassFifteen.class)
+          .get("TestClassFifteen")
+          .get(ContainerHandler.ABANDONED_ENTRY));
+    } finally {
+      TestClassFifteen.ignoreInterruption = false;
+    }
+  }
+
+  @Test
+  public void testNonPositiveTimeLimit() {
+    var listener = new SummaryGeneratingListener();
+    var request = LauncherDiscoveryRequestBuilder.request()
+        .selectors(DiscoverySelectors.selectClass(ZeroTimeLimit.class))
+        .build();
+    LauncherFactory.create().execute(request, listener);
+
+    var failures = listener.getSummary().getFailures();
+    assertEquals(1, failures.size());
+    assertEquals(IllegalArgumentException.class, failures.get(0).getException().getClass());
+  }
+
+  @Test
+  public void testReportEntries() {
+    var entries = executeForEntries(TestClassOne.class);
+
+    assertEquals(Set.of("TestClassOne", "simple()", "repetition 1 of 2", "repetition 2 of 2",
+        "[1] null", "[1] 1", "[2] 2"), entries.keySet());
+    for (var entry : entries.values()) {
+      assertEquals(
+          Set.of(ContainerHandler.TIME_ENTRY, ContainerHandler.OVERHEAD_ENTRY),
+          entry.keySet());
+      assertTrue(Long.parseLong(entry.get(ContainerHandler.TIME_ENTRY)) > 0);
+      assertTrue(Long.parseLong(entry.get(ContainerHandler.OVERHEAD_ENTRY)) > 0);
+    }
+  }
+
+  @RepeatedTest(10)
+  public void testParallelExecution() {
+    var request = LauncherDiscoveryRequestBuilder.request()
+        .selectors(
+            DiscoverySelectors.selectClass(TestClassSeven.class),
+            DiscoverySelectors.selectClass(TestClassOne.class))
+        .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+        .configurationParameter("junit.jupiter.execution.parallel.mode.default", "concurrent")
+        .configurationParameter(
+            "junit.jupiter.execution.parallel.mode.classes.default",
+            "concurrent")
+        .build();
+    LauncherFactory.create().execute(request);
+
+    var footers = Arrays.stream(prepareConsoleView().split("\n"))
+        .filter(line -> line.startsWith("TOTAL"))
+        .map(line -> line.replaceAll(TEMPLATE, TIME_GAG))
+        .collect(Collectors.toSet());
+    assertEquals(Set.of(
+        "TOTAL 10 | SUCCESSFUL 3 | FAILED 3 | ABORTED 3 | DISABLED 1 | TIME " + TIME_GAG,
+        "TOTAL 6 | SUCCESSFUL 6 | TIME " + TIME_GAG), footers);
+    assertEquals(PrintStream.class, System.out.getClass());
+  }
+
   @Test
   public void testNoMethods() {
     ContainerLauncher.execute(TestClassTwelve.class, false, false, false);
@@ -138,7 +282,7 @@ public class ContainerHandlerTest {
             + "%3$s\n"
             + "noMethodTwo() test 2 [%4$s] - %1$s\n"
             + "noMethodTwo() 2 tests [%4$s] - %1$s\n\n"
-            + "TOTAL 7 | FAILED 7 | DEBUG MODE ON | TIME %4$s",
+            + "TOTAL 7 | FAILED 7 | DEBUG MODE ON | TIME %4$s | OVERHEAD %4$s",
         prepareStatus(State.NO_METHOD, "someMethod\n"
             + "Reasons:\n"
             + "- method is absent\n"
@@ -150,6 +294,37 @@ public class ContainerHandlerTest {
     checkEntries(expected);
   }
 
+  @Test
+  public void testCaptureLimitWithDebugMode() {
+    ContainerLauncher.execute(
+        TestClassTwelve.class,
+        RunConfiguration.builder().debugMode(true).captureLimit(4).build());
+    assertTrue(prepareConsoleView().contains(String.format(
+        "noMethodThree() test 1 - %s:\nso\n... 6 bytes are dropped ...\nt\n",
+        prepareStatus(State.RUNNING, null))));
+  }
+
+  @Test
+  public void testOutputOfCommonPoolIsSwallowed() {
+    IntStream.range(0, 64).parallel().forEach(index -> Thread.yield());
+    ContainerLauncher.execute(TestClassSixteen.class, RunConfiguration.builder().build());
+    var console = prepareConsoleView();
+    assertTrue(console.contains("print() - "));
+    assertFalse(console.contains("#"));
+  }
+
+  @Test
+  public void testOutputOfCommonPoolWithDebugMode() {
+    IntStream.range(0, 64).parallel().forEach(index -> Thread.yield());
+    ContainerLauncher.execute(
+        TestClassSixteen.class,
+        RunConfiguration.builder().debugMode(true).build());
+    assertTrue(prepareConsoleView().contains(String.format(
+        "print() - %s:\n%s\n",
+        prepareStatus(State.RUNNING, null),
+        "#".repeat(64))));
+  }
+
   @Test
   public void testNoMethodsWithDebugAndErrorMode() {
     ContainerLauncher.execute(TestClassTwelve.class, true, true, false);
@@ -166,7 +341,7 @@ public class ContainerHandlerTest {
             + "%3$s\n"
             + "noMethodTwo() test 2 [%4$s] - %1$s\n"
             + "noMethodTwo() 2 tests [%4$s] - %1$s\n\n"
-            + "TOTAL 7 | FAILED 7 | ERROR MODE ON | DEBUG MODE ON | TIME %4$s",
+            + "TOTAL 7 | FAILED 7 | ERROR MODE ON | DEBUG MODE ON | TIME %4$s | OVERHEAD %4$s",
         prepareStatus(State.NO_METHOD, "someMethod\n"
             + "Reasons:\n"
             + "- method is absent\n"
@@ -271,7 +446,7 @@ public class ContainerHandlerTest {
             + "withPrintsAborted() [%9$s] - %5$s\n"
             + "withPrintsDisabled() [%9$s] - %7$s\n\n"
             + "TOTAL 10 | SUCCESSFUL 3 | FAILED 3 | ABORTED 3 "
-            + "| DISABLED 1 | DEBUG MODE ON | TIME %9$s",
+            + "| DISABLED 1 | DEBUG MODE ON | TIME %9$s | OVERHEAD %9$s",
         prepareStatus(State.FAILED, MESSAGE),
         "Some bad text",
         prepareStatus(State.SUCCESSFUL, null),
@@ -318,7 +493,7 @@ public class ContainerHandlerTest {
             + "withPrintsAborted() [%9$s] - %5$s\n"
             + "withPrintsDisabled() [%9$s] - %7$s\n\n"
             + "TOTAL 10 | SUCCESSFUL 3 | FAILED 3 | ABORTED 3 | DISABLED 1 "
-            + "| ERROR MODE ON | DEBUG MODE ON | TIME %9$s",
+            + "| ERROR MODE ON | DEBUG MODE ON | TIME %9$s | OVERHEAD %9$s",
         prepareStatus(State.FAILED, MESSAGE),
         "Some bad text",
         prepareStatus(State.SUCCESSFUL, null),
@@ -433,7 +608,7 @@ public class ContainerHandlerTest {
             + "repeated() 2 tests [%2$s] - %1$s\n"
             + "parameterized() [%2$s] - %1$s\n"
             + "repeatedParameterized() 2 tests [%2$s] - %1$s\n\n"
-            + "TOTAL 6 | SUCCESSFUL 6 | DEBUG MODE ON | TIME %2$s",
+            + "TOTAL 6 | SUCCESSFUL 6 | DEBUG MODE ON | TIME %2$s | OVERHEAD %2$s",
         prepareStatus(State.SUCCESSFUL, null),
         TIME_GAG);
 
@@ -458,7 +633,7 @@ public class ContainerHandlerTest {
             + "simple() - %s:\n"
             + "Some ok text\n"
             + "simple() [%3$s] - %s\n\n"
-            + "TOTAL 6 | SUCCESSFUL 6 | ERROR MODE ON | DEBUG MODE ON | TIME %3$s",
+            + "TOTAL 6 | SUCCESSFUL 6 | ERROR MODE ON | DEBUG MODE ON | TIME %3$s | OVERHEAD %3$s",
         prepareStatus(State.RUNNING, null),
         prepareStatus(State.SUCCESSFUL, null),
         TIME_GAG);
@@ -499,7 +674,7 @@ public class ContainerHandlerTest {
             + "parameterized() test 1 [%4$s] - %2$s\n"
             + "repeatedParameterized() test 1 [%4$s] - %2$s\n"
             + "repeatedParameterized() test 2 [%4$s] - %2$s\n\n"
-            + "TOTAL 8 | SUCCESSFUL 1 | ABORTED 7 | DEBUG MODE ON | TIME %4$s",
+            + "TOTAL 8 | SUCCESSFUL 1 | ABORTED 7 | DEBUG MODE ON | TIME %4$s | OVERHEAD %4$s",
         prepareStatus(State.ABORTED, "Assumption failed: assumption is not true"),
         prepareStatus(State.ABORTED, "Assumption failed: Some message"),
         prepareStatus(State.SUCCESSFUL, null),
@@ -519,7 +694,8 @@ public class ContainerHandlerTest {
             + "parameterized() test 1 [%4$s] - %2$s\n"
             + "repeatedParameterized() test 1 [%4$s] - %2$s\n"
             + "repeatedParameterized() test 2 [%4$s] - %2$s\n\n"
-            + "TOTAL 8 | SUCCESSFUL 1 | ABORTED 7 | ERROR MODE ON | DEBUG MODE ON | TIME %4$s",
+            + "TOTAL 8 | SUCCESSFUL 1 | ABORTED 7 | ERROR MODE ON | DEBUG MODE ON | TIME %4$s"
+            + " | OVERHEAD %4$s",
         prepareStatus(State.ABORTED, "Assumption failed: assumption is not true"),
         prepareStatus(State.ABORTED, "Assumption failed: Some message"),
         prepareStatus(State.SUCCESSFUL, null),
@@ -555,7 +731,7 @@ public class ContainerHandlerTest {
             + "repeatedParameterized() [%4$s] - %2$s\n"
             + "disabledOne() [%4$s] - %2$s\n"
             + "disabledTwo() [%4$s] - %3$s\n\n"
-            + "TOTAL 5 | SUCCESSFUL 1 | DISABLED 4 | DEBUG MODE ON | TIME %4$s",
+            + "TOTAL 5 | SUCCESSFUL 1 | DISABLED 4 | DEBUG MODE ON | TIME %4$s | OVERHEAD %4$s",
         prepareStatus(State.SUCCESSFUL, null),
         prepareStatus(State.DISABLED, "The disabled reason is not provided"),
         prepareStatus(State.DISABLED, "Some reason"),
@@ -572,7 +748,8 @@ public class ContainerHandlerTest {
             + "repeatedParameterized() [%3$s] - %1$s\n"
             + "disabledOne() [%3$s] - %1$s\n"
             + "disabledTwo() [%3$s] - %2$s\n\n"
-            + "TOTAL 5 | SUCCESSFUL 1 | DISABLED 4 | ERROR MODE ON | DEBUG MODE ON | TIME %3$s",
+            + "TOTAL 5 | SUCCESSFUL 1 | DISABLED 4 | ERROR MODE ON | DEBUG MODE ON | TIME %3$s"
+            + " | OVERHEAD %3$s",
         prepareStatus(State.DISABLED, "The disabled reason is not provided"),
         prepareStatus(State.DISABLED, "Some reason"),
         TIME_GAG);
@@ -610,7 +787,7 @@ public class ContainerHandlerTest {
             + "parameterized() test 1 [%3$s] - %1$s\n"
             + "repeatedParameterized() test 1 [%3$s] - %1$s\n"
             + "repeatedParameterized() test 2 [%3$s] - %1$s\n\n"
-            + "TOTAL 7 | SUCCESSFUL 1 | FAILED 6 | DEBUG MODE ON | TIME %3$s",
+            + "TOTAL 7 | SUCCESSFUL 1 | FAILED 6 | DEBUG MODE ON | TIME %3$s | OVERHEAD %3$s",
         prepareStatus(State.FAILED, MESSAGE),
         prepareStatus(State.SUCCESSFUL, null),
         TIME_GAG);
@@ -628,7 +805,8 @@ public class ContainerHandlerTest {
             + "parameterized() test 1 [%2$s] - %1$s\n"
             + "repeatedParameterized() test 1 [%2$s] - %1$s\n"
             + "repeatedParameterized() test 2 [%2$s] - %1$s\n\n"
-            + "TOTAL 7 | SUCCESSFUL 1 | FAILED 6 | ERROR MODE ON | DEBUG MODE ON | TIME %2$s",
+            + "TOTAL 7 | SUCCESSFUL 1 | FAILED 6 | ERROR MODE ON | DEBUG MODE ON | TIME %2$s"
+            + " | OVERHEAD %2$s",
         prepareStatus(State.FAILED, MESSAGE),
         TIME_GAG);
 
@@ -703,4 +881,28 @@ public class ContainerHandlerTest {
         })
         .collect(Collectors.joining("\n"));
   }
-}
\ No newline at end of file
+
+  private Map<String, Map<String, String>> executeForEntries(Class<?> container) {
+    var entries = new HashMap<String, Map<String, String>>();
+    var listener = new TestExecutionListener() {
+      @Override
+      public void reportingEntryPublished(TestIdentifier identifier, ReportEntry entry) {
+        entries.put(identifier.getDisplayName(), entry.getKeyValuePairs());
+      }
+    };
+    var request = LauncherDiscoveryRequestBuilder.request()
+        .selectors(DiscoverySelectors.selectClass(container))
+        .build();
+    LauncherFactory.create().execute(request, listener);
+    return entries;
+  }
+
+  @TimeLimit(0)
+  @ExtendWith(ContainerHandler.class)
+  public static class ZeroTimeLimit {
+
+    @Test
+    public void test() {
+    }
+  }
+}
@@ -28,6 +28,7 @@ public class ContainerRequestTest {
         .container(container.id())
         .build();
     assertTrue(request.getPredicate().test(TestClassOne.class));
+    assertTrue(request.getDescriptorPredicate().test(ContainerDescriptor.of(TestClassOne.class)));
   }
 
   @Test
@@ -0,0 +1,61 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JsonLinesSinkTest {
+
+  @TempDir
+  public Path directory;
+
+  @Test
+  public void testLines() throws IOException {
+    var file = directory.resolve("results.jsonl");
+    try (var sink = new JsonLinesSink(file)) {
+      sink.accept(new TestResult("a.B", "ok", 0, State.SUCCESSFUL, 15, null));
+      sink.accept(new TestResult("a.B", "bad", 2, State.FAILED, 20, "line\n\"quoted\"\t\\\u0001"));
+    }
+    var expected = List.of(
+        "{\"container\":\"a.B\",\"method\":\"ok\",\"repetition\":0,\"state\":\"SUCCESSFUL\","
+            + "\"duration\":15,\"cause\":null}",
+        "{\"container\":\"a.B\",\"method\":\"bad\",\"repetition\":2,\"state\":\"FAILED\","
+            + "\"duration\":20,\"cause\":\"line\\n\\\"quoted\\\"\\t\\\\\\u0001\"}");
+    assertEquals(expected, Files.readAllLines(file));
+  }
+
+  @Test
+  public void testLinesAreAppended() throws IOException {
+    var file = directory.resolve("results.jsonl");
+    for (var index = 0; index < 2; index++) {
+      try (var sink = new JsonLinesSink(file)) {
+        sink.accept(new TestResult("a.B", "ok", 0, State.SUCCESSFUL, index, null));
+      }
+    }
+    var lines = Files.readAllLines(file);
+    assertEquals(2, lines.size());
+    assertEquals(lines.get(0).replace("\"duration\":0", "\"duration\":1"), lines.get(1));
+  }
+
+  @Test
+  public void testLongLines() throws IOException {
+    var file = directory.resolve("results.jsonl");
+    var cause = "x".repeat(1 << 17);
+    try (var sink = new JsonLinesSink(file)) {
+      sink.accept(new TestResult("a.B", "first", 0, State.SUCCESSFUL, 1, null));
+      sink.accept(new TestResult("a.B", "second", 0, State.FAILED, 1, cause));
+      sink.accept(new TestResult("a.B", "third", 0, State.SUCCESSFUL, 1, null));
+    }
+    var lines = Files.readAllLines(file);
+    assertEquals(3, lines.size());
+    assertTrue(lines.get(0).contains("\"first\""));
+    assertTrue(lines.get(1).contains(cause));
+    assertTrue(lines.get(2).contains("\"third\""));
+  }
+}
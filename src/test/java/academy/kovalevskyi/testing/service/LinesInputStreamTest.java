@@ -0,0 +1,55 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class LinesInputStreamTest {
+
+  @Test
+  public void testLinesAreSeparated() throws IOException {
+    try (var stream = new LinesInputStream(
+        Stream.of("first", "", "Зевс"),
+        StandardCharsets.UTF_8)) {
+      var expected = String.format("first%n%nЗевс%n");
+      assertEquals(expected, new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+      assertEquals(-1, stream.read());
+    }
+  }
+
+  @Test
+  public void testLinesAreGeneratedOnDemand() throws IOException {
+    var generated = new AtomicInteger();
+    var lines = IntStream.range(0, 1_000_000)
+        .peek(index -> generated.incrementAndGet())
+        .mapToObj(String::valueOf);
+    try (var reader = new BufferedReader(new InputStreamReader(
+        new LinesInputStream(lines, StandardCharsets.UTF_8),
+        StandardCharsets.UTF_8))) {
+      assertEquals("0", reader.readLine());
+      assertEquals("1", reader.readLine());
+      assertTrue(generated.get() < 10_000);
+      assertEquals(1_000_000 - 2, reader.lines().count());
+    }
+  }
+
+  @Test
+  public void testCloseClosesLines() {
+    var closed = new AtomicInteger();
+    var stream = new LinesInputStream(
+        Stream.of("line").onClose(closed::incrementAndGet),
+        StandardCharsets.UTF_8);
+    stream.close();
+
+    assertEquals(1, closed.get());
+    assertEquals(-1, stream.read());
+  }
+}
@@ -0,0 +1,58 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedInputStreamTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void testReadByWindows() throws IOException {
+    var content = new byte[1_000];
+    for (var index = 0; index < content.length; index++) {
+      content[index] = (byte) index;
+    }
+    var file = Files.write(directory.resolve("input.bin"), content);
+
+    try (var stream = new MappedInputStream(file, 64)) {
+      assertEquals(1_000, stream.available());
+      assertEquals(0, stream.read());
+      assertEquals(100, stream.skip(100));
+      assertEquals(101, stream.read());
+      assertArrayEquals(
+          Arrays.copyOfRange(content, 102, 1_000),
+          stream.readAllBytes());
+      assertEquals(-1, stream.read());
+      assertEquals(0, stream.available());
+    }
+  }
+
+  @Test
+  public void testEmptyFile() throws IOException {
+    var file = Files.createFile(directory.resolve("empty.txt"));
+
+    try (var stream = new MappedInputStream(file)) {
+      assertEquals(-1, stream.read());
+      assertEquals(-1, stream.read(new byte[8], 0, 8));
+      assertEquals(0, stream.skip(10));
+    }
+  }
+
+  @Test
+  public void testClosedStream() throws IOException {
+    var file = Files.writeString(directory.resolve("input.txt"), "text");
+    var stream = new MappedInputStream(file);
+    stream.close();
+
+    assertEquals(-1, stream.read());
+  }
+}
@@ -0,0 +1,136 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OutputComparatorTest {
+
+  private static final String LINES = String.join("\n", "one", "two", "three", "four", "five");
+  private CapturedOutput output;
+
+  @BeforeEach
+  public void setUp() {
+    output = new CapturedOutput(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testEqualOutputs() throws IOException {
+    write(LINES);
+    assertTrue(OutputComparator.compare(() -> open(LINES), output).isEmpty());
+  }
+
+  @Test
+  public void testEmptyOutputs() throws IOException {
+    assertTrue(OutputComparator.compare(() -> open(""), output).isEmpty());
+  }
+
+  @Test
+  public void testExpectedOutputIsOpenedOnceIfOutputsAreEqual() throws IOException {
+    write(LINES);
+    var opened = new int[1];
+    OutputComparator.compare(() -> {
+      opened[0]++;
+      return open(LINES);
+    }, output);
+
+    assertEquals(1, opened[0]);
+  }
+
+  @Test
+  public void testDifferentLine() throws IOException {
+    write(LINES.replace("four", "fur"));
+    var expected = String.join(System.lineSeparator(),
+        "Output differs from expected output at line 4, column 2",
+        "  2 | two",
+        "  3 | three",
+        "- 4 | four",
+        "- 5 | five",
+        "+ 4 | fur",
+        "+ 5 | five");
+
+    assertEquals(expected, OutputComparator.compare(() -> open(LINES), output).orElseThrow());
+  }
+
+  @Test
+  public void testMissingLines() throws IOException {
+    write("one\ntwo\n");
+    var expected = String.join(System.lineSeparator(),
+        "Output differs from expected output at line 3, column 1",
+        "  1 | one",
+        "  2 | two",
+        "- 3 | three",
+        "- 4 | four",
+        "- 5 | five",
+        "+ 3 | <end of output>");
+
+    assertEquals(expected, OutputComparator.compare(() -> open(LINES), output).orElseThrow());
+  }
+
+  @Test
+  public void testExtraLines() throws IOException {
+    write(LINES + "\nsix");
+    var message = OutputComparator.compare(() -> open(LINES), output).orElseThrow();
+
+    assertTrue(message.startsWith("Output differs from expected output at line 6, column 1"));
+    assertTrue(message.contains("- 6 | <end of output>"));
+    assertTrue(message.endsWith("+ 6 | six"));
+  }
+
+  @Test
+  public void testLineSeparators() throws IOException {
+    write(LINES + "\n");
+    assertEquals(
+        "Output differs from expected output only in line separators",
+        OutputComparator.compare(() -> open(LINES), output).orElseThrow());
+  }
+
+  @Test
+  public void testLongLines() throws IOException {
+    var line = "x".repeat(10_000);
+    write(String.join("\n", line, line, line + "y", line, line));
+    var expected = String.join("\n", line, line, line + "z", line, line);
+    var message = OutputComparator.compare(() -> open(expected), output).orElseThrow();
+
+    assertTrue(message.length() <= OutputComparator.MESSAGE_LIMIT);
+    assertTrue(message.startsWith("Output differs from expected output at line 3, column 10001"));
+    assertTrue(message.contains("- 3 | ..." + "x".repeat(16) + "z"));
+    assertTrue(message.contains("+ 3 | ..." + "x".repeat(16) + "y"));
+  }
+
+  @Test
+  public void testLargeStreamedOutput() throws IOException {
+    var line = "line of output\n";
+    for (var index = 0; index < 100_000; index++) {
+      write(line);
+    }
+    var lines = Collections.enumeration(
+        Stream.generate(() -> (InputStream) open(line)).limit(100_000).toList());
+
+    assertTrue(OutputComparator.compare(() -> new SequenceInputStream(lines), output).isEmpty());
+    write("extra");
+    assertFalse(OutputComparator
+        .compare(() -> open(line.repeat(100_000)), output)
+        .orElseThrow()
+        .isEmpty());
+  }
+
+  private ByteArrayInputStream open(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void write(String text) {
+    var bytes = text.getBytes(StandardCharsets.UTF_8);
+    output.write(bytes, 0, bytes.length);
+  }
+}
@@ -901,4 +901,139 @@ public class PrintStreamWrapperTest {
     assertFalse(wrapper.hasContent());
     assertEquals(0, BUFFER.size());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testConcurrentPrints() throws InterruptedException {
+    var threads = new Thread[4];
+    var lines = 1_000;
+    wrapper.enable();
+    for (var index = 0; index < threads.length; index++) {
+      threads[index] = new Thread(() -> {
+        for (var line = 0; line < lines; line++) {
+          wrapper.println("line");
+        }
+      });
+      threads[index].start();
+    }
+    for (var thread : threads) {
+      thread.join();
+    }
+    wrapper.disable();
+
+    var expected = String.format("%s%s", TEMPLATE, String.format("line%n").repeat(4 * lines));
+    assertEquals(expected, BUFFER.toString());
+  }
+
+  @Test
+  public void testEmptyPrintHasNoContent() {
+    wrapper.enable();
+    wrapper.print("");
+    wrapper.write(new byte[0], 0, 0);
+    assertFalse(wrapper.hasContent());
+    assertEquals(0, BUFFER.size());
+  }
+
+  @Test
+  public void testLastByteIsTrackedWithoutCopies() {
+    wrapper.enable();
+    for (var symbol = 'a'; symbol <= 'z'; symbol++) {
+      wrapper.print(symbol);
+    }
+    assertTrue(wrapper.hasContent());
+
+    wrapper.disable();
+    assertFalse(wrapper.hasContent());
+    assertEquals(String.format("%sabcdefghijklmnopqrstuvwxyz\n", TEMPLATE), BUFFER.toString());
+  }
+
+  @Test
+  public void testSingleBytesAreTrackedInPlace() {
+    wrapper.enable();
+    wrapper.write('a');
+    wrapper.write('\n');
+    wrapper.disable();
+    assertEquals(String.format("%sa\n", TEMPLATE), BUFFER.toString());
+
+    BUFFER.reset();
+    wrapper.enable();
+    wrapper.write('b');
+    wrapper.disable();
+    assertEquals(String.format("%sb\n", TEMPLATE), BUFFER.toString());
+  }
+
+  @Test
+  public void testCaptureKeepsHeadAndTail() {
+    var limited = new PrintStreamWrapper(STREAM, 8);
+    limited.enable();
+    limited.print("abcdefghij");
+    limited.print("klmnopqrst");
+
+    assertEquals(String.format("%sabcd", TEMPLATE), BUFFER.toString());
+    assertEquals(12, limited.getDroppedBytes());
+    assertTrue(limited.hasContent());
+
+    limited.disable();
+    assertEquals(
+        String.format("%sabcd\n... 12 bytes are dropped ...\nqrst\n", TEMPLATE),
+        BUFFER.toString());
+    assertEquals(0, limited.getDroppedBytes());
+    limited.destroy();
+  }
+
+  @Test
+  public void testCaptureWrapsTailOfSingleBytes() {
+    var limited = new PrintStreamWrapper(STREAM, 6);
+    limited.enable();
+    for (var symbol = 'a'; symbol <= 'z'; symbol++) {
+      limited.write(symbol);
+    }
+    limited.write('\n');
+    limited.disable();
+
+    assertEquals(
+        String.format("%sabc\n... 21 bytes are dropped ...\nyz\n", TEMPLATE),
+        BUFFER.toString());
+    limited.destroy();
+  }
+
+  @Test
+  public void testCaptureWithoutDrops() {
+    var limited = new PrintStreamWrapper(STREAM, 8);
+    limited.enable();
+    limited.print("abcdef");
+    limited.disable();
+    assertEquals(String.format("%sabcdef\n", TEMPLATE), BUFFER.toString());
+
+    BUFFER.reset();
+    limited.enable();
+    limited.print("abc");
+    limited.disable();
+    assertEquals(String.format("%sabc\n", TEMPLATE), BUFFER.toString());
+    limited.destroy();
+  }
+
+  @Test
+  public void testCaptureWithoutMemory() {
+    var limited = new PrintStreamWrapper(STREAM, 0);
+    limited.enable();
+    limited.print("text");
+
+    assertTrue(limited.hasContent());
+    assertEquals(4, limited.getDroppedBytes());
+
+    limited.disable();
+    assertEquals(String.format("%s... 4 bytes are dropped ...\n", TEMPLATE), BUFFER.toString());
+    assertEquals(0, limited.getDroppedBytes());
+    limited.destroy();
+  }
+
+  @Test
+  public void testCaptureOfSingleByteTail() {
+    var limited = new PrintStreamWrapper(STREAM, 1);
+    limited.enable();
+    limited.print("a");
+    limited.disable();
+    assertEquals(String.format("%sa\n", TEMPLATE), BUFFER.toString());
+    limited.destroy();
+  }
+}
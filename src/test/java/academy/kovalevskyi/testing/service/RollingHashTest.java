@@ -0,0 +1,30 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class RollingHashTest {
+
+  @Test
+  public void testIncrementalUpdate() {
+    var bytes = "some captured output".getBytes(StandardCharsets.UTF_8);
+    var whole = RollingHash.update(0, bytes, 0, bytes.length);
+    var first = RollingHash.update(0, bytes, 0, 7);
+
+    assertEquals(whole, RollingHash.update(first, bytes, 7, bytes.length - 7));
+  }
+
+  @Test
+  public void testDifferentBytes() {
+    var first = new byte[]{0, 1, 2};
+    var second = new byte[]{0, 2, 1};
+    var zeros = new byte[]{0, 0};
+
+    assertNotEquals(RollingHash.update(0, first, 0, 3), RollingHash.update(0, second, 0, 3));
+    assertNotEquals(RollingHash.update(0, zeros, 0, 1), RollingHash.update(0, zeros, 0, 2));
+    assertNotEquals(0, RollingHash.update(0, zeros, 0, 1));
+  }
+}
@@ -0,0 +1,92 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RoutingPrintStreamTest {
+
+  private ByteArrayOutputStream defaultBuffer;
+  private PrintStream defaultStream;
+  private RoutingPrintStream stream;
+
+  @BeforeEach
+  public void setUp() {
+    defaultBuffer = new ByteArrayOutputStream();
+    defaultStream = new PrintStream(defaultBuffer, true);
+    stream = new RoutingPrintStream(defaultStream);
+  }
+
+  @Test
+  public void testDefaultRoute() {
+    stream.print("text");
+    assertEquals("text", defaultBuffer.toString());
+    assertSame(defaultStream, stream.current());
+  }
+
+  @Test
+  public void testBoundRoute() {
+    var buffer = new ByteArrayOutputStream();
+    var bound = new PrintStream(buffer, true);
+    stream.bind(bound);
+    stream.print("bound");
+    stream.println(1);
+    assertSame(bound, stream.current());
+    stream.unbind();
+    stream.print("default");
+
+    assertEquals(String.format("bound1%n"), buffer.toString());
+    assertEquals("default", defaultBuffer.toString());
+  }
+
+  @Test
+  public void testRouteOfAnotherThread() throws InterruptedException {
+    var buffer = new ByteArrayOutputStream();
+    stream.bind(new PrintStream(buffer, true));
+    var thread = new Thread(() -> {
+      stream.unbind();
+      stream.print("other");
+    });
+    thread.start();
+    thread.join();
+    stream.print("bound");
+    stream.unbind();
+
+    assertEquals("bound", buffer.toString());
+    assertEquals("other", defaultBuffer.toString());
+  }
+
+  @Test
+  public void testInheritedRoute() throws InterruptedException {
+    var buffer = new ByteArrayOutputStream();
+    stream.bind(new PrintStream(buffer, true));
+    var thread = new Thread(() -> stream.print("child"));
+    thread.start();
+    thread.join();
+    stream.unbind();
+
+    assertEquals("child", buffer.toString());
+    assertEquals(0, defaultBuffer.size());
+  }
+
+  @Test
+  public void testResolve() {
+    var buffer = new PrintStream(new ByteArrayOutputStream());
+    assertSame(buffer, RoutingPrintStream.resolve(buffer));
+    assertSame(defaultStream, RoutingPrintStream.resolve(stream));
+    stream.bind(buffer);
+    assertSame(buffer, RoutingPrintStream.resolve(stream));
+    stream.unbind();
+  }
+
+  @Test
+  public void testCloseKeepsDefaultStream() {
+    stream.close();
+    stream.print("text");
+    assertEquals("text", defaultBuffer.toString());
+  }
+}
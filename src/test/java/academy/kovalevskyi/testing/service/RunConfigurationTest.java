@@ -0,0 +1,99 @@
+package academy.kovalevskyi.testing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class RunConfigurationTest {
+
+  @Test
+  public void testDefaultConfiguration() {
+    var configuration = RunConfiguration.builder().build();
+    assertFalse(configuration.isErrorMode());
+    assertFalse(configuration.isDebugMode());
+    assertFalse(configuration.isVerboseMode());
+    assertEquals(1, configuration.getParallelism());
+    assertEquals(RunConfiguration.DEFAULT_TIME_LIMIT, configuration.getTimeLimit());
+    assertEquals(RunConfiguration.DEFAULT_CAPTURE_LIMIT, configuration.getCaptureLimit());
+    assertTrue(configuration.getResultFile().isEmpty());
+  }
+
+  @Test
+  public void testConfiguration() {
+    var configuration = RunConfiguration
+        .builder()
+        .errorMode(true)
+        .verboseMode(true)
+        .parallelism(4)
+        .timeLimit(Duration.ofMillis(250))
+        .captureLimit(0)
+        .resultFile(Path.of("results.jsonl"))
+        .build();
+    assertTrue(configuration.isErrorMode());
+    assertFalse(configuration.isDebugMode());
+    assertTrue(configuration.isVerboseMode());
+    assertEquals(4, configuration.getParallelism());
+    assertEquals(Duration.ofMillis(250), configuration.getTimeLimit());
+    assertEquals(0, configuration.getCaptureLimit());
+    assertEquals(Optional.of(Path.of("results.jsonl")), configuration.getResultFile());
+  }
+
+  @Test
+  public void testCaptureLimitIsNotNegative() {
+    var builder = RunConfiguration.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.captureLimit(-1));
+  }
+
+  @Test
+  public void testTimeLimitIsPositive() {
+    var builder = RunConfiguration.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.timeLimit(Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> builder.timeLimit(Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  public void testParallelismIsAtLeastOne() {
+    assertEquals(1, RunConfiguration.builder().parallelism(0).build().getParallelism());
+    assertEquals(1, RunConfiguration.builder().parallelism(-3).build().getParallelism());
+  }
+
+  @Test
+  public void testToParameters() {
+    var expected = Map.of(
+        FrameworkProperty.ERROR_MODE, "false",
+        FrameworkProperty.DEBUG_MODE, "true",
+        FrameworkProperty.VERBOSE_MODE, "false",
+        FrameworkProperty.TIME_LIMIT, "15000",
+        FrameworkProperty.CAPTURE_LIMIT, "1048576");
+    assertEquals(expected, RunConfiguration.builder().debugMode(true).build().toParameters());
+  }
+
+  @Test
+  public void testShortTimeLimitToParameters() {
+    var parameters = RunConfiguration
+        .builder()
+        .timeLimit(Duration.ofNanos(1))
+        .build()
+        .toParameters();
+    assertEquals("1", parameters.get(FrameworkProperty.TIME_LIMIT));
+    var rounded = RunConfiguration.builder().timeLimit(Duration.ofMillis(1).plusNanos(1)).build();
+    assertEquals("2", rounded.toParameters().get(FrameworkProperty.TIME_LIMIT));
+  }
+
+  @Test
+  public void testResultFileToParameters() {
+    var parameters = RunConfiguration
+        .builder()
+        .resultFile(Path.of("results.jsonl"))
+        .build()
+        .toParameters();
+    assertEquals("results.jsonl", parameters.get(FrameworkProperty.RESULT_FILE));
+  }
+}
@@ -0,0 +1,45 @@
+package academy.kovalevskyi.testing.test.five;
+
+import academy.kovalevskyi.testing.annotation.Container;
+import academy.kovalevskyi.testing.annotation.TimeLimit;
+import academy.kovalevskyi.testing.test.TestProvider;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInfo;
+
+@TimeLimit(value = 100, unit = TimeUnit.MILLISECONDS)
+@Container(course = TestProvider.class, week = 4, day = 0, id = 8)
+public class TestClassFifteen {
+
+  public static volatile boolean ignoreInterruption = false;
+
+  @BeforeEach
+  public void setUp(TestInfo info) throws InterruptedException {
+    if (info.getTags().contains("slow")) {
+      TimeUnit.SECONDS.sleep(10);
+    }
+  }
+
+  @Test
+  @Tag("slow")
+  public void outOfTimeBeforeEach() {
+  }
+
+  @Test
+  public void outOfTimeIgnoringInterruption() {
+    final var start = System.nanoTime();
+    while (ignoreInterruption && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10)) {
+      Thread.onSpinWait();
+    }
+  }
+
+  @TestFactory
+  public Stream<DynamicTest> outOfTimeDynamic() {
+    return Stream.of(DynamicTest.dynamicTest("sleep", () -> TimeUnit.SECONDS.sleep(10)));
+  }
+}
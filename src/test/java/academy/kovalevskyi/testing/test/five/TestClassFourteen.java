@@ -0,0 +1,32 @@
+package academy.kovalevskyi.testing.test.five;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import academy.kovalevskyi.testing.annotation.Container;
+import academy.kovalevskyi.testing.annotation.TimeLimit;
+import academy.kovalevskyi.testing.test.TestProvider;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+@TimeLimit(value = 100, unit = TimeUnit.MILLISECONDS)
+@Container(course = TestProvider.class, week = 4, day = 0, id = 7)
+public class TestClassFourteen {
+
+  @Test
+  public void outOfTime() throws InterruptedException {
+    TimeUnit.SECONDS.sleep(10);
+  }
+
+  @Test
+  @TimeLimit(1)
+  public void inTime() throws InterruptedException {
+    TimeUnit.MILLISECONDS.sleep(200);
+    assertTrue(true);
+  }
+
+  @RepeatedTest(2)
+  public void repeatedOutOfTime() throws InterruptedException {
+    TimeUnit.SECONDS.sleep(10);
+  }
+}
@@ -0,0 +1,15 @@
+package academy.kovalevskyi.testing.test.five;
+
+import academy.kovalevskyi.testing.annotation.Container;
+import academy.kovalevskyi.testing.test.TestProvider;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+@Container(course = TestProvider.class, week = 4, day = 0, id = 9)
+public class TestClassSixteen {
+
+  @Test
+  public void print() {
+    IntStream.range(0, 64).parallel().forEach(index -> System.out.print('#'));
+  }
+}
@@ -0,0 +1,176 @@
+package academy.kovalevskyi.testing.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import academy.kovalevskyi.testing.service.RoutingPrintStream;
+import academy.kovalevskyi.testing.test.TestProvider;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContainerDaemonTest {
+
+  private static final PrintStream DEFAULT_STD_OUT = System.out;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  @TempDir
+  Path directory;
+  private Path socket;
+  private ContainerDaemon daemon;
+  private Future<?> running;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    socket = directory.resolve("daemon.sock");
+    daemon = new ContainerDaemon(socket, 2, Duration.ofMillis(500));
+    running = executor.submit(() -> {
+      daemon.run();
+      return null;
+    });
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    daemon.close();
+    running.get(10, TimeUnit.SECONDS);
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testExecuteRequest() throws IOException {
+    var report = send(String.format("course=%s%nweek=1%nday=2%nid=0%n%n", TestProvider.KEY));
+    assertTrue(report.contains("Result of TestClassOne"));
+    assertEquals(report.indexOf("TOTAL"), report.lastIndexOf("TOTAL"));
+    assertFalse(report.contains("DEBUG MODE ON"));
+  }
+
+  @Test
+  public void testExecuteRequestWithModes() throws IOException {
+    var report = send(String.format(
+        "course=%s%nweek=1%nday=2%nid=0%ndebug=true%nclasspath=%s%n%n",
+        TestProvider.KEY,
+        directory));
+    assertTrue(report.contains("Result of TestClassOne"));
+    assertTrue(report.contains("DEBUG MODE ON"));
+  }
+
+  @Test
+  public void testExecuteRequestsOneByOne() throws IOException {
+    var request = String.format("course=%s%nweek=1%nday=2%nid=1%n%n", TestProvider.KEY);
+    var first = send(request);
+    var second = send(request);
+    assertTrue(first.contains("Result of TestClassTwo"));
+    assertTrue(second.contains("Result of TestClassTwo"));
+    assertEquals(
+        first.substring(first.indexOf("TOTAL"), first.indexOf("TIME")),
+        second.substring(second.indexOf("TOTAL"), second.indexOf("TIME")));
+  }
+
+  @Test
+  public void testBadRequests() throws IOException {
+    assertEquals(
+        String.format("Course key should be provided%n"),
+        send(String.format("week=1%n%n")));
+    assertEquals(
+        String.format("week should be a number%n"),
+        send(String.format("course=%s%nweek=one%n%n", TestProvider.KEY)));
+    assertEquals(
+        String.format("Malformed line of request 'week'%n"),
+        send(String.format("course=%s%nweek%n%n", TestProvider.KEY)));
+    assertTrue(send(String.format("course=R2D2%n%n")).startsWith("Containers are not found"));
+  }
+
+  @Test
+  public void testFailedRequest() throws IOException {
+    var invalidPath = send(String.format("course=%s%nclasspath=a\0b%n%n", TestProvider.KEY));
+    assertTrue(invalidPath.startsWith("Request is failed: java.nio.file.InvalidPathException"));
+    assertEquals(1, invalidPath.lines().count());
+  }
+
+  @Test
+  public void testUnfinishedRequestsAreClosed() throws IOException {
+    var channels = new ArrayList<SocketChannel>();
+    try {
+      for (var i = 0; i < 2; i++) {
+        var channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channels.add(channel);
+        channel.connect(UnixDomainSocketAddress.of(socket));
+        channel.write(ByteBuffer.wrap(
+            String.format("course=%s%n", TestProvider.KEY).getBytes(StandardCharsets.UTF_8)));
+      }
+      for (var channel : channels) {
+        assertEquals(0, Channels.newInputStream(channel).readAllBytes().length);
+      }
+    } finally {
+      for (var channel : channels) {
+        channel.close();
+      }
+    }
+    var report = send(String.format("course=%s%nweek=1%nday=2%nid=0%n%n", TestProvider.KEY));
+    assertTrue(report.contains("Result of TestClassOne"));
+  }
+
+  @Test
+  public void testLongRequest() throws IOException {
+    var request = String.format(
+        "course=%s%nid=%s%n%n", TestProvider.KEY, "0".repeat(ContainerDaemon.REQUEST_LIMIT));
+    assertEquals(
+        String.format("Request is longer than %d bytes%n", ContainerDaemon.REQUEST_LIMIT),
+        send(request));
+  }
+
+  @Test
+  public void testSocketIsPrivate() throws IOException {
+    var expected = PosixFilePermissions.fromString("rw-------");
+    assertEquals(expected, Files.getPosixFilePermissions(socket));
+    try (var files = Files.list(directory)) {
+      assertEquals(List.of(socket), files.collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testStandardStreamsAreRouted() throws IOException {
+    send(String.format("course=%s%nweek=1%nday=2%nid=0%n%n", TestProvider.KEY));
+    assertTrue(System.out instanceof RoutingPrintStream);
+    daemon.close();
+    assertTrue(Files.notExists(socket));
+  }
+
+  @Test
+  public void testStreamsAreRestoredAfterClose() throws Exception {
+    daemon.close();
+    running.get(10, TimeUnit.SECONDS);
+    assertSame(DEFAULT_STD_OUT, System.out);
+  }
+
+  private String send(final String request) throws IOException {
+    try (var channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+      channel.connect(UnixDomainSocketAddress.of(socket));
+      channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.UTF_8)));
+      return new String(
+          Channels.newInputStream(channel).readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
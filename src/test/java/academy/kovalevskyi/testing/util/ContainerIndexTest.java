@@ -0,0 +1,114 @@
+package academy.kovalevskyi.testing.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import academy.kovalevskyi.testing.service.ContainerDescriptor;
+import academy.kovalevskyi.testing.test.one.TestClassOne;
+import academy.kovalevskyi.testing.test.one.TestClassTwo;
+import academy.kovalevskyi.testing.test.three.TestClassFour;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContainerIndexTest {
+
+  private static final String PACKAGE = "academy.kovalevskyi.testing.test";
+  private static final List<ContainerDescriptor> CONTAINERS = List.of(
+      ContainerDescriptor.of(TestClassOne.class),
+      ContainerDescriptor.of(TestClassTwo.class),
+      ContainerDescriptor.of(TestClassFour.class));
+
+  @TempDir
+  public Path directory;
+
+  @Test
+  public void testAbsentIndex() {
+    var index = new ContainerIndex(directory, PACKAGE);
+    assertTrue(index.load(getClass().getClassLoader()).isEmpty());
+  }
+
+  @Test
+  public void testStoreAndLoad() {
+    new ContainerIndex(directory, PACKAGE).store(CONTAINERS);
+    var actual = new ContainerIndex(directory, PACKAGE).load(getClass().getClassLoader());
+
+    assertTrue(actual.isPresent());
+    assertEquals(CONTAINERS, actual.get());
+  }
+
+  @Test
+  public void testIndexPerPackages() {
+    new ContainerIndex(directory, PACKAGE).store(CONTAINERS);
+    var index = new ContainerIndex(directory, PACKAGE + ".one");
+
+    assertTrue(index.load(getClass().getClassLoader()).isEmpty());
+  }
+
+  @Test
+  public void testOutdatedIndex() throws IOException {
+    new ContainerIndex(directory, PACKAGE).store(CONTAINERS);
+    try (var files = Files.list(directory)) {
+      for (var file : files.toArray(Path[]::new)) {
+        var lines = Files.readAllLines(file);
+        lines.set(0, "outdated");
+        Files.write(file, lines);
+      }
+    }
+
+    var index = new ContainerIndex(directory, PACKAGE);
+    assertFalse(index.load(getClass().getClassLoader()).isPresent());
+  }
+
+  @Test
+  public void testBrokenIndex() throws IOException {
+    var index = new ContainerIndex(directory, PACKAGE);
+    index.store(CONTAINERS);
+    try (var files = Files.list(directory)) {
+      for (var file : files.toArray(Path[]::new)) {
+        var lines = Files.readAllLines(file);
+        lines.add("academy.kovalevskyi.SomeAbsentClass\tKEY\t0\t0\t0");
+        Files.write(file, lines);
+      }
+    }
+
+    assertTrue(index.load(getClass().getClassLoader()).isEmpty());
+  }
+
+  @Test
+  public void testIndexOfTouchedFiles() throws IOException {
+    new ContainerIndex(directory, PACKAGE).store(CONTAINERS);
+    try (var files = Files.list(directory)) {
+      for (var file : files.toArray(Path[]::new)) {
+        var lines = Files.readAllLines(file);
+        lines.set(0, lines.get(0).replaceFirst("^[^\t]+", "outdated"));
+        Files.write(file, lines);
+      }
+    }
+
+    var actual = new ContainerIndex(directory, PACKAGE).load(getClass().getClassLoader());
+    assertTrue(actual.isPresent());
+    assertEquals(CONTAINERS, actual.get());
+  }
+
+  @Test
+  public void testFingerprintOfTouchedJar() throws IOException {
+    var jar = Files.write(directory.resolve("course.jar"), new byte[]{1, 2, 3});
+    var roots = List.of(jar);
+    var stamp = ContainerIndex.stamp(roots);
+    var fingerprint = ContainerIndex.fingerprint(roots);
+    Files.setLastModifiedTime(jar, FileTime.from(Instant.parse("2000-01-01T00:00:00Z")));
+
+    assertNotEquals(stamp, ContainerIndex.stamp(roots));
+    assertEquals(fingerprint, ContainerIndex.fingerprint(roots));
+    Files.write(jar, new byte[]{1, 2, 4});
+    assertNotEquals(fingerprint, ContainerIndex.fingerprint(roots));
+  }
+}
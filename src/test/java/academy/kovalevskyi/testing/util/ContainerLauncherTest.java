@@ -1,14 +1,25 @@
 package academy.kovalevskyi.testing.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import academy.kovalevskyi.testing.exception.ContainerNotFoundException;
 import academy.kovalevskyi.testing.exception.NotAnnotatedContainerException;
+import academy.kovalevskyi.testing.service.ContainerRequest;
 import academy.kovalevskyi.testing.service.FrameworkProperty;
+import academy.kovalevskyi.testing.service.RunConfiguration;
+import academy.kovalevskyi.testing.test.TestProvider;
 import academy.kovalevskyi.testing.test.one.TestClassOne;
 import academy.kovalevskyi.testing.test.three.TestClassFour;
+import academy.kovalevskyi.testing.test.two.TestClassThree;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
@@ -16,19 +27,42 @@ import org.junit.jupiter.api.Test;
 public class ContainerLauncherTest {
 
   @Test
-  public void testExecuteContainerSystemProperties() {
+  public void testExecuteContainerKeepsSystemProperties() {
     disableAllProperties();
     ContainerLauncher.execute(TestClassOne.class, true, true, true);
-    checkAllPropertiesIsTrue();
+    checkAllPropertiesIsFalse();
   }
 
   @Test
-  public void testExecuteContainersSystemProperties() {
+  public void testExecuteContainersKeepsSystemProperties() {
     disableAllProperties();
     var list = new ArrayList<Class<?>>();
     list.add(TestClassOne.class);
     ContainerLauncher.execute(list, true, true, true);
-    checkAllPropertiesIsTrue();
+    checkAllPropertiesIsFalse();
+  }
+
+  @Test
+  public void testExecuteContainersWithRunConfiguration() {
+    var defaultOut = System.out;
+    var buffer = new ByteArrayOutputStream();
+    var list = new ArrayList<Class<?>>();
+    list.add(TestClassOne.class);
+    list.add(TestClassThree.class);
+    var configuration = RunConfiguration.builder().debugMode(true).parallelism(2).build();
+    System.setProperty(FrameworkProperty.ERROR_MODE, Boolean.toString(true));
+    System.setOut(new PrintStream(buffer, true));
+    try {
+      ContainerLauncher.execute(list, configuration);
+    } finally {
+      System.setOut(defaultOut);
+      disableAllProperties();
+    }
+
+    var result = buffer.toString();
+    assertTrue(result.contains("DEBUG MODE ON"));
+    assertFalse(result.contains("ERROR MODE ON"));
+    assertFalse(result.contains("VERBOSE MODE ON"));
   }
 
   @Test
@@ -76,15 +110,111 @@ public class ContainerLauncherTest {
     TestClassFour.TEST_FILE.deleteOnExit();
   }
 
+  @Test
+  public void testExecuteContainersInOneLaunch() {
+    var defaultOut = System.out;
+    var buffer = new ByteArrayOutputStream();
+    var out = new PrintStream(buffer, true);
+    var list = new ArrayList<Class<?>>();
+    list.add(TestClassFour.class);
+    list.add(TestClassOne.class);
+    System.setOut(out);
+    try {
+      ContainerLauncher.execute(list, false, false, false);
+      assertSame(out, System.out);
+    } finally {
+      System.setOut(defaultOut);
+    }
+
+    var result = buffer.toString();
+    var first = result.indexOf("Result of TestClassFour");
+    var second = result.indexOf("Result of TestClassOne");
+    assertTrue(first >= 0);
+    assertTrue(first < second);
+    assertTrue(result.indexOf("TOTAL 1 | SUCCESSFUL 1") < second);
+    assertTrue(result.indexOf("TOTAL 6 | SUCCESSFUL 6") > second);
+    TestClassFour.TEST_FILE.deleteOnExit();
+  }
+
+  @Test
+  public void testExecuteContainersInParallel() {
+    var defaultOut = System.out;
+    var buffer = new ByteArrayOutputStream();
+    var out = new PrintStream(buffer, true);
+    var list = new ArrayList<Class<?>>();
+    list.add(TestClassThree.class);
+    list.add(TestClassFour.class);
+    list.add(TestClassOne.class);
+    System.setOut(out);
+    try {
+      ContainerLauncher.execute(list, false, false, false, 3);
+      assertSame(out, System.out);
+    } finally {
+      System.setOut(defaultOut);
+    }
+
+    var result = buffer.toString();
+    var first = result.indexOf("Result of TestClassOne");
+    var second = result.indexOf("Result of SomeNameOfTestClass");
+    var third = result.indexOf("Result of TestClassFour");
+    assertTrue(first >= 0);
+    assertTrue(first < second);
+    assertTrue(second < third);
+    for (var report : result.substring(first).split("Result of ")) {
+      if (!report.isEmpty()) {
+        assertEquals(report.indexOf("TOTAL"), report.lastIndexOf("TOTAL"));
+        assertTrue(report.indexOf("TOTAL") > 0);
+      }
+    }
+    assertTrue(TestClassFour.TEST_FILE.exists());
+    TestClassFour.TEST_FILE.deleteOnExit();
+  }
+
+  @Test
+  public void testExecuteContainersInParallelWithUnsupportedClass() {
+    var list = new ArrayList<Class<?>>();
+    list.add(TestClassOne.class);
+    list.add(ContainerLauncherTest.class);
+    assertThrows(NotAnnotatedContainerException.class,
+        () -> ContainerLauncher.execute(list, false, false, false, 2));
+  }
+
+  @Test
+  public void testExecuteContainersInParallelWithEmptyList() {
+    assertThrows(ContainerNotFoundException.class,
+        () -> ContainerLauncher.execute(Collections.emptyList(), false, false, false, 2));
+  }
+
+  @Test
+  public void testExecuteRequestWithClassLoader() {
+    var defaultOut = System.out;
+    var buffer = new ByteArrayOutputStream();
+    var thread = Thread.currentThread();
+    var defaultLoader = thread.getContextClassLoader();
+    var loader = new URLClassLoader(new URL[0], defaultLoader);
+    var request = ContainerRequest.builder().course(TestProvider.KEY).week(1).day(2).build();
+    System.setOut(new PrintStream(buffer, true));
+    try {
+      ContainerLauncher.execute(request, RunConfiguration.builder().build(), loader);
+    } finally {
+      System.setOut(defaultOut);
+    }
+
+    assertSame(defaultLoader, thread.getContextClassLoader());
+    var result = buffer.toString();
+    assertTrue(result.contains("Result of TestClassOne"));
+    assertTrue(result.contains("Result of TestClassTwo"));
+  }
+
   private void disableAllProperties() {
     System.setProperty(FrameworkProperty.VERBOSE_MODE, Boolean.toString(false));
     System.setProperty(FrameworkProperty.DEBUG_MODE, Boolean.toString(false));
     System.setProperty(FrameworkProperty.ERROR_MODE, Boolean.toString(false));
   }
 
-  private void checkAllPropertiesIsTrue() {
-    assertEquals(System.getProperty(FrameworkProperty.VERBOSE_MODE), Boolean.toString(true));
-    assertEquals(System.getProperty(FrameworkProperty.DEBUG_MODE), Boolean.toString(true));
-    assertEquals(System.getProperty(FrameworkProperty.ERROR_MODE), Boolean.toString(true));
+  private void checkAllPropertiesIsFalse() {
+    assertEquals(System.getProperty(FrameworkProperty.VERBOSE_MODE), Boolean.toString(false));
+    assertEquals(System.getProperty(FrameworkProperty.DEBUG_MODE), Boolean.toString(false));
+    assertEquals(System.getProperty(FrameworkProperty.ERROR_MODE), Boolean.toString(false));
   }
 }
\ No newline at end of file
@@ -2,17 +2,25 @@ package academy.kovalevskyi.testing.util;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import academy.kovalevskyi.testing.annotation.Container;
 import academy.kovalevskyi.testing.exception.ContainerNotFoundException;
 import academy.kovalevskyi.testing.exception.NotAnnotatedContainerException;
+import academy.kovalevskyi.testing.processor.ContainerProcessor;
+import academy.kovalevskyi.testing.service.ContainerDescriptor;
 import academy.kovalevskyi.testing.service.ContainerRequest;
+import academy.kovalevskyi.testing.service.FrameworkProperty;
 import academy.kovalevskyi.testing.test.TestProvider;
 import academy.kovalevskyi.testing.test.five.TestClassEight;
 import academy.kovalevskyi.testing.test.five.TestClassEleven;
+import academy.kovalevskyi.testing.test.five.TestClassFifteen;
+import academy.kovalevskyi.testing.test.five.TestClassFourteen;
 import academy.kovalevskyi.testing.test.five.TestClassNine;
 import academy.kovalevskyi.testing.test.five.TestClassSeven;
+import academy.kovalevskyi.testing.test.five.TestClassSixteen;
 import academy.kovalevskyi.testing.test.five.TestClassTen;
 import academy.kovalevskyi.testing.test.five.TestClassThirteen;
 import academy.kovalevskyi.testing.test.five.TestClassTwelve;
@@ -22,9 +30,16 @@ import academy.kovalevskyi.testing.test.one.TestClassTwo;
 import academy.kovalevskyi.testing.test.three.TestClassFive;
 import academy.kovalevskyi.testing.test.three.TestClassFour;
 import academy.kovalevskyi.testing.test.two.TestClassThree;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import javax.tools.ToolProvider;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class ContainerManagerTest {
 
@@ -56,6 +71,26 @@ public class ContainerManagerTest {
     assertEquals(expected.name(), actual.name());
   }
 
+  @Test
+  public void testInitProviderIsCached() {
+    var expected = ContainerManager.initProvider(TestClassOne.class);
+    assertSame(expected, ContainerManager.initProvider(TestClassTwo.class));
+    assertSame(expected, ContainerManager.initProvider(TestClassOne.class));
+  }
+
+  @Test
+  public void testResetProviders() {
+    var previous = ContainerManager.initProvider(TestClassOne.class);
+    var previousDescriptor = ContainerDescriptor.of(TestClassOne.class);
+    ContainerManager.resetProviders();
+    var actual = ContainerManager.initProvider(TestClassOne.class);
+    assertNotSame(previous, actual);
+    assertSame(actual, ContainerManager.initProvider(TestClassOne.class));
+    var actualDescriptor = ContainerDescriptor.of(TestClassOne.class);
+    assertNotSame(previousDescriptor, actualDescriptor);
+    assertEquals(previousDescriptor, actualDescriptor);
+  }
+
   @Test
   public void testInitProviderWithIllegalClassParameter() {
     assertThrows(NotAnnotatedContainerException.class,
@@ -76,6 +111,111 @@ public class ContainerManagerTest {
     assertArrayEquals(expected.toArray(), actual.toArray());
   }
 
+  @Test
+  public void testGetAllContainersInRightOrderWithIndex(@TempDir Path directory)
+      throws IOException {
+    var expected = getAllContainersInRightOrder();
+    System.setProperty(FrameworkProperty.INDEX_DIRECTORY, directory.toString());
+    System.setProperty(FrameworkProperty.REGISTRY, Boolean.toString(false));
+    try {
+      var scanned = ContainerManager.getContainers("academy.kovalevskyi.testing.test");
+      try (var files = Files.list(directory)) {
+        assertEquals(1, files.count());
+      }
+      var indexed = ContainerManager.getContainers("academy.kovalevskyi.testing.test");
+      assertArrayEquals(expected.toArray(), scanned.toArray());
+      assertArrayEquals(expected.toArray(), indexed.toArray());
+    } finally {
+      System.clearProperty(FrameworkProperty.INDEX_DIRECTORY);
+      System.clearProperty(FrameworkProperty.REGISTRY);
+    }
+  }
+
+  @Test
+  public void testRequestOfIndexedContainersDoesNotDescribeClasses(@TempDir Path directory) {
+    var packages = "academy.kovalevskyi.testing.test";
+    // the class is not a container, so describing of it would fail
+    var foreign = new ContainerDescriptor(ContainerManagerTest.class, "OTHER", 0, 0, 0);
+    new ContainerIndex(directory, packages)
+        .store(List.of(ContainerDescriptor.of(TestClassOne.class), foreign));
+    System.setProperty(FrameworkProperty.INDEX_DIRECTORY, directory.toString());
+    System.setProperty(FrameworkProperty.REGISTRY, Boolean.toString(false));
+    try {
+      var request = ContainerRequest.builder().course(TestProvider.KEY).build();
+      assertEquals(List.of(TestClassOne.class), ContainerManager.getContainers(request, packages));
+    } finally {
+      System.clearProperty(FrameworkProperty.INDEX_DIRECTORY);
+      System.clearProperty(FrameworkProperty.REGISTRY);
+    }
+  }
+
+  @Test
+  public void testGetAllContainersInRightOrderWithoutRegistry() {
+    var expected = getAllContainersInRightOrder();
+    System.setProperty(FrameworkProperty.REGISTRY, Boolean.toString(false));
+    try {
+      var actual = ContainerManager.getContainers("academy.kovalevskyi.testing.test");
+      assertArrayEquals(expected.toArray(), actual.toArray());
+    } finally {
+      System.clearProperty(FrameworkProperty.REGISTRY);
+    }
+  }
+
+  @Test
+  public void testGetContainersFromRootWithoutRegistry(@TempDir Path directory)
+      throws IOException {
+    var source = Files.createDirectories(directory.resolve("other"))
+        .resolve("Unregistered.java");
+    Files.writeString(source, "package other;\n"
+        + "@academy.kovalevskyi.testing.annotation.Container(\n"
+        + "    course = academy.kovalevskyi.testing.test.TestProvider.class,\n"
+        + "    week = 99, day = 1, id = 1)\n"
+        + "public class Unregistered {}\n");
+    var compiler = ToolProvider.getSystemJavaCompiler();
+    assertEquals(0, compiler.run(null, null, null,
+        "-proc:none",
+        "-d", directory.toString(),
+        "-cp", System.getProperty("java.class.path"),
+        source.toString()));
+
+    var thread = Thread.currentThread();
+    var original = thread.getContextClassLoader();
+    try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, original)) {
+      thread.setContextClassLoader(loader);
+      var actual = ContainerManager.getContainers("academy.kovalevskyi.testing.test", "other");
+      assertEquals(getAllContainersInRightOrder().size() + 1, actual.size());
+      assertEquals("other.Unregistered", actual.get(actual.size() - 1).getName());
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+
+  @Test
+  public void testRequestOfRegisteredContainersLoadsOnlyRequestedClasses(@TempDir Path directory)
+      throws IOException {
+    var registry = directory.resolve(ContainerProcessor.REGISTRY);
+    Files.createDirectories(registry.getParent());
+    Files.write(registry, List.of(String.join("\t",
+        "other.Broken", TestProvider.class.getName(), "99", "1", "1")));
+    // the class file is empty, so loading of the class would fail
+    Files.createDirectories(directory.resolve("other"));
+    Files.createFile(directory.resolve("other/Broken.class"));
+
+    var thread = Thread.currentThread();
+    var original = thread.getContextClassLoader();
+    try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, original)) {
+      thread.setContextClassLoader(loader);
+      var packages = new String[]{"academy.kovalevskyi.testing.test", "other"};
+      var request = ContainerRequest.builder().course(TestProvider.KEY).week(1).day(2).build();
+      var actual = ContainerManager.getContainers(request, packages);
+      assertEquals(List.of(TestClassOne.class, TestClassTwo.class), actual);
+      var broken = ContainerRequest.builder().course(TestProvider.KEY).week(99).build();
+      assertThrows(ClassFormatError.class, () -> ContainerManager.getContainers(broken, packages));
+    } finally {
+      thread.setContextClassLoader(original);
+    }
+  }
+
   @Test
   public void testGetSpecifyContainer() {
     var request = ContainerRequest.builder().course(TestProvider.KEY).week(2).day(2).build();
@@ -136,6 +276,9 @@ public class ContainerManagerTest {
     original.add(TestClassEleven.class);
     original.add(TestClassTwelve.class);
     original.add(TestClassThirteen.class);
+    original.add(TestClassFourteen.class);
+    original.add(TestClassFifteen.class);
+    original.add(TestClassSixteen.class);
     return original;
   }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package academy.kovalevskyi.testing.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import academy.kovalevskyi.testing.processor.ContainerProcessor;
+import academy.kovalevskyi.testing.test.TestProvider;
+import academy.kovalevskyi.testing.test.one.TestClassOne;
+import academy.kovalevskyi.testing.test.one.TestClassTwo;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContainerRegistryTest {
+
+  @Test
+  public void testGeneratedRegistry() {
+    var actual = ContainerRegistry.load(getClass().getClassLoader());
+    assertTrue(actual.isPresent());
+    assertEquals(16, actual.get().containers().size());
+  }
+
+  @Test
+  public void testPackageFilter() {
+    var actual =
+        ContainerRegistry.load(getClass().getClassLoader(), "academy.kovalevskyi.testing.test.one");
+    assertTrue(actual.isPresent());
+    assertEquals(
+        Set.of(
+            new ContainerRegistry.Entry(
+                TestClassOne.class.getName(), TestProvider.class.getName(), 1, 2, 0),
+            new ContainerRegistry.Entry(
+                TestClassTwo.class.getName(), TestProvider.class.getName(), 1, 2, 1)),
+        Set.copyOf(actual.get().containers()));
+    assertTrue(actual.get().unregistered().isEmpty());
+  }
+
+  @Test
+  public void testAbsentPackage() {
+    var actual = ContainerRegistry.load(getClass().getClassLoader(), "some.absent.package");
+    assertTrue(actual.isPresent());
+    assertTrue(actual.get().containers().isEmpty());
+    assertTrue(actual.get().unregistered().isEmpty());
+  }
+
+  @Test
+  public void testAbsentRegistry(@TempDir Path directory) throws IOException {
+    try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+      assertTrue(ContainerRegistry.load(loader).isEmpty());
+    }
+  }
+
+  @Test
+  public void testRegistryWithAbsentClass(@TempDir Path directory) throws IOException {
+    var registry = directory.resolve(ContainerProcessor.REGISTRY);
+    Files.createDirectories(registry.getParent());
+    Files.write(registry, List.of("academy.kovalevskyi.SomeAbsentClass\tSomeProvider\t0\t0\t0"));
+    try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+      assertTrue(ContainerRegistry.load(loader).isEmpty());
+    }
+  }
+
+  @Test
+  public void testMalformedRegistry(@TempDir Path directory) throws IOException {
+    var registry = directory.resolve(ContainerProcessor.REGISTRY);
+    Files.createDirectories(registry.getParent());
+    Files.write(registry, List.of(TestClassOne.class.getName() + "\tSomeProvider\tone\t0\t0"));
+    try (var loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+      assertTrue(ContainerRegistry.load(loader).isEmpty());
+    }
+  }
+
+  @Test
+  public void testRootWithoutRegistry(@TempDir Path directory) throws IOException {
+    Files.createDirectories(directory.resolve("some/unregistered"));
+    Files.createFile(directory.resolve("some/unregistered/Container.class"));
+    var root = directory.toUri().toURL();
+    try (var loader = new URLClassLoader(new URL[]{root}, getClass().getClassLoader())) {
+      var actual = ContainerRegistry.load(loader, "some.unregistered");
+      assertTrue(actual.isPresent());
+      assertTrue(actual.get().containers().isEmpty());
+      assertEquals(List.of(root), List.copyOf(actual.get().unregistered()));
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package academy.kovalevskyi.testing.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SubmissionLoadersTest {
+
+  @TempDir
+  public Path directory;
+  private Path course;
+  private Path first;
+  private Path second;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    first = compile("first", "", "submission/Answer.java", answer("first"));
+    second = compile("second", "", "submission/Answer.java", answer("second"));
+    course = compile(
+        "course",
+        first.toString(),
+        "course/Check.java",
+        "package course;\n"
+            + "public class Check {\n"
+            + "  public static String answer() { return submission.Answer.value(); }\n"
+            + "}\n");
+    Files.writeString(course.resolve("course.txt"), "course");
+  }
+
+  @Test
+  public void testCourseClassesAreLinkedWithSubmission() throws Exception {
+    try (var loaders = loaders(4);
+        var firstLease = loaders.acquire(List.of(first));
+        var secondLease = loaders.acquire(List.of(second))) {
+      var firstCheck = firstLease.getLoader().loadClass("course.Check");
+      var secondCheck = secondLease.getLoader().loadClass("course.Check");
+      assertNotSame(firstCheck, secondCheck);
+      assertEquals("first", firstCheck.getMethod("answer").invoke(null));
+      assertEquals("second", secondCheck.getMethod("answer").invoke(null));
+    }
+  }
+
+  @Test
+  public void testFrameworkIsShared() throws Exception {
+    try (var loaders = loaders(4); var lease = loaders.acquire(List.of(first))) {
+      var loader = lease.getLoader();
+      assertSame(ContainerManager.class, loader.loadClass(ContainerManager.class.getName()));
+      assertSame(Test.class, loader.loadClass(Test.class.getName()));
+    }
+  }
+
+  @Test
+  public void testCourseResourcesAreVisible() throws Exception {
+    try (var loaders = loaders(4); var lease = loaders.acquire(List.of(first))) {
+      assertNotNull(lease.getLoader().getResource("course.txt"));
+      assertTrue(lease.getLoader().getResources("course.txt").hasMoreElements());
+    }
+  }
+
+  @Test
+  public void testLoaderIsReused() throws Exception {
+    try (var loaders = loaders(4)) {
+      ClassLoader expected;
+      try (var lease = loaders.acquire(List.of(first))) {
+        expected = lease.getLoader();
+      }
+      try (var lease = loaders.acquire(List.of(first))) {
+        assertSame(expected, lease.getLoader());
+      }
+    }
+  }
+
+  @Test
+  public void testLoaderIsRecreatedForChangedSubmission() throws Exception {
+    try (var loaders = loaders(4)) {
+      ClassLoader expected;
+      try (var lease = loaders.acquire(List.of(first))) {
+        expected = lease.getLoader();
+      }
+      var file = first.resolve("submission").resolve("Answer.class");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+      try (var lease = loaders.acquire(List.of(first))) {
+        assertNotSame(expected, lease.getLoader());
+      }
+    }
+  }
+
+  @Test
+  public void testLeastRecentlyUsedLoaderIsEvicted() throws Exception {
+    try (var loaders = loaders(1)) {
+      ClassLoader expected;
+      try (var lease = loaders.acquire(List.of(first))) {
+        expected = lease.getLoader();
+      }
+      try (var lease = loaders.acquire(List.of(second))) {
+        assertNotSame(expected, lease.getLoader());
+      }
+      try (var lease = loaders.acquire(List.of(first))) {
+        assertNotSame(expected, lease.getLoader());
+      }
+    }
+  }
+
+  @Test
+  public void testLeasedLoaderIsNotClosed() throws Exception {
+    try (var loaders = loaders(1); var lease = loaders.acquire(List.of(first))) {
+      loaders.acquire(List.of(second)).close();
+      var check = lease.getLoader().loadClass("course.Check");
+      assertEquals("first", check.getMethod("answer").invoke(null));
+    }
+  }
+
+  @Test
+  public void testMissingSubmissionClass() throws Exception {
+    try (var loaders = loaders(4); var lease = loaders.acquire(List.of())) {
+      var check = lease.getLoader().loadClass("course.Check");
+      assertThrows(NoClassDefFoundError.class, () -> {
+        try {
+          check.getMethod("answer").invoke(null);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      });
+    }
+  }
+
+  @Test
+  public void testOnlyCourseClassesAreFound() throws IOException {
+    var jar = directory.resolve("course.jar");
+    try (var output = new JarOutputStream(Files.newOutputStream(jar))) {
+      output.putNextEntry(new JarEntry("course/Check.class"));
+      output.write(Files.readAllBytes(course.resolve("course").resolve("Check.class")));
+    }
+    for (var classpath : List.of(course, jar)) {
+      try (var courses = new CourseClasses(List.of(classpath))) {
+        assertTrue(courses.find("course.Check").isPresent());
+        assertTrue(courses.find("submission.Answer").isEmpty());
+        assertTrue(courses.find("java.lang.String").isEmpty());
+      }
+    }
+  }
+
+  private SubmissionLoaders loaders(int capacity) throws IOException {
+    return new SubmissionLoaders(getClass().getClassLoader(), List.of(course), capacity);
+  }
+
+  private static String answer(String value) {
+    return "package submission;\n"
+        + "public class Answer {\n"
+        + "  public static String value() { return \"" + value + "\"; }\n"
+        + "}\n";
+  }
+
+  private Path compile(String name, String classpath, String file, String source)
+      throws IOException {
+    var output = Files.createDirectories(directory.resolve(name));
+    var sourceFile = directory.resolve("sources").resolve(name).resolve(file);
+    Files.createDirectories(sourceFile.getParent());
+    Files.writeString(sourceFile, source);
+    var compiler = ToolProvider.getSystemJavaCompiler();
+    try (var manager = compiler.getStandardFileManager(null, null, null)) {
+      var task = compiler.getTask(
+          null,
+          manager,
+          null,
+          List.of("-d", output.toString(), "-cp", classpath, "-proc:none"),
+          null,
+          manager.getJavaFileObjects(sourceFile));
+      assertTrue(task.call());
+    }
+    return output;
+  }
+}